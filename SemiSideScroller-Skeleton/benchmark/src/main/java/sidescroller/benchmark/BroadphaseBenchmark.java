@@ -0,0 +1,95 @@
+package sidescroller.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sidescroller.entity.GenericEntity;
+import sidescroller.entity.property.Entity;
+import sidescroller.entity.property.HitBox;
+import sidescroller.scene.SpatialHash;
+import utility.Tuple;
+
+/**
+ * collision cost of a few players against a growing number of static shapes, testing every static shape
+ * as the old per static pass did, versus only the candidates returned by {@link SpatialHash}.
+ */
+@State( Scope.Benchmark)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.NANOSECONDS)
+@Warmup( iterations = 3, time = 1)
+@Measurement( iterations = 5, time = 1)
+@Fork( 1)
+public class BroadphaseBenchmark{
+
+	private static final int ROWS = 64;
+	private static final int COLS = 1024;
+	private static final double CELL = 32;
+	private static final int PLAYERS = 8;
+
+	@Param( { "10", "100", "1000", "10000"})
+	public int statics;
+
+	private List< Entity> shapes;
+	private HitBox[] players;
+	private SpatialHash hash;
+	private List< Entity> nearby;
+
+	@Setup
+	public void setup(){
+		Random rand = new Random( 42);
+		shapes = new ArrayList<>( statics);
+		for( int i = 0; i < statics; i++){
+			int col = rand.nextInt( COLS - 6);
+			int row = rand.nextInt( ROWS - 3);
+			shapes.add( new GenericEntity( null, HitBox.build( col * CELL, row * CELL, CELL * (1 + rand.nextInt( 6)),
+					CELL * (1 + rand.nextInt( 3)))));
+		}
+		players = new HitBox[PLAYERS];
+		for( int i = 0; i < PLAYERS; i++){
+			players[i] = HitBox.build( rand.nextDouble() * (COLS - 1) * CELL, rand.nextDouble() * (ROWS - 1) * CELL, 32, 32);
+			players[i].translate( 2, 7);
+		}
+		hash = new SpatialHash( Tuple.pair( ROWS, COLS), Tuple.pair( 16, 16), CELL / 16).build( shapes);
+		nearby = new ArrayList<>();
+	}
+
+	@Benchmark
+	public int bruteForce(){
+		int hits = 0;
+		for( HitBox player : players){
+			for( Entity shape : shapes){
+				if( player.intersectBounds( shape.getHitBox())){
+					hits++;
+				}
+			}
+		}
+		return hits;
+	}
+
+	@Benchmark
+	public int spatialHash(){
+		int hits = 0;
+		for( HitBox player : players){
+			for( Entity shape : hash.query( player, nearby)){
+				if( player.intersectBounds( shape.getHitBox())){
+					hits++;
+				}
+			}
+		}
+		return hits;
+	}
+}
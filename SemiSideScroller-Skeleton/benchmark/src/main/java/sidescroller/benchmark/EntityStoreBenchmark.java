@@ -0,0 +1,90 @@
+package sidescroller.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sidescroller.entity.GenericEntity;
+import sidescroller.entity.property.Entity;
+import sidescroller.entity.property.HitBox;
+import sidescroller.scene.EntityStore;
+
+/**
+ * move every entity by its velocity, then find every entity touching an area, with entities as objects
+ * in a list versus primitive arrays in an {@link EntityStore}. objects are shuffled like a heap after
+ * entities come and go, so each one is a cache miss as the count grows.
+ */
+@State( Scope.Thread)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.MICROSECONDS)
+@Warmup( iterations = 3, time = 1)
+@Measurement( iterations = 5, time = 1)
+@Fork( 1)
+public class EntityStoreBenchmark{
+
+	@Param( { "1000", "10000", "100000"})
+	private int count;
+
+	private List< Entity> entities;
+	private double[] velocities;
+	private EntityStore store;
+	private int[] ids;
+
+	@Setup
+	public void setup(){
+		Random rand = new Random( 7);
+		entities = new ArrayList<>( count);
+		velocities = new double[count * 2];
+		store = new EntityStore( count);
+		for( int i = 0; i < count; i++){
+			double x = rand.nextDouble() * 100000, y = rand.nextDouble() * 480;
+			double vx = rand.nextDouble() * 2 - 1, vy = rand.nextDouble() * 2 - 1;
+			entities.add( new GenericEntity( null, HitBox.build( x, y, 8, 8)));
+			velocities[i * 2] = vx;
+			velocities[i * 2 + 1] = vy;
+			store.setVelocity( store.add( x, y, 8, 8), vx, vy);
+		}
+		Collections.shuffle( entities, rand);
+		ids = new int[count];
+	}
+
+	@Benchmark
+	public int objects(){
+		int found = 0;
+		for( int i = 0; i < count; i++){
+			entities.get( i).getHitBox().translate( velocities[i * 2], velocities[i * 2 + 1]);
+		}
+		for( Entity e : entities){
+			if( e.getHitBox().getBounds().intersects( 5000, 0, 1120, 480))
+				found++;
+		}
+		for( int i = 0; i < count; i++){
+			entities.get( i).getHitBox().translate( -velocities[i * 2], -velocities[i * 2 + 1]);
+		}
+		return found;
+	}
+
+	@Benchmark
+	public int store(){
+		store.integrate();
+		int found = store.query( 5000, 0, 1120, 480, ids);
+		for( int i = 0; i < count; i++){
+			store.setVelocity( i, -store.vx( i), -store.vy( i));
+		}
+		return found;
+	}
+}
@@ -0,0 +1,91 @@
+package sidescroller.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utility.RectangleBounds;
+import utility.Tuple;
+
+/**
+ * {@link RectangleBounds} and {@link Tuple} operations over a growing number of objects, one probe
+ * against every rectangle or one move of every tuple per call.
+ * see {@link RectangleBoundsBenchmark} for the cost of a single call.
+ */
+@State( Scope.Thread)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.NANOSECONDS)
+@Warmup( iterations = 3, time = 1)
+@Measurement( iterations = 5, time = 1)
+@Fork( 1)
+public class GeometryBenchmark{
+
+	@Param( { "16", "256", "4096"})
+	private int count;
+
+	private RectangleBounds[] rects;
+	private Tuple[] tuples;
+	private RectangleBounds probe;
+
+	@Setup
+	public void setup(){
+		Random rand = new Random( 7);
+		rects = new RectangleBounds[count];
+		tuples = new Tuple[count];
+		for( int i = 0; i < count; i++){
+			rects[i] = new RectangleBounds( rand.nextDouble() * 2000, rand.nextDouble() * 500, 32 + rand.nextDouble() * 200,
+					32 + rand.nextDouble() * 100);
+			tuples[i] = Tuple.pair( rand.nextDouble() * 2000, rand.nextDouble() * 500);
+		}
+		probe = new RectangleBounds( 900, 200, 40, 40);
+	}
+
+	@Benchmark
+	public int intersects(){
+		int hits = 0;
+		for( RectangleBounds rect : rects){
+			if( rect.intersects( probe))
+				hits++;
+		}
+		return hits;
+	}
+
+	@Benchmark
+	public int contains(){
+		int hits = 0;
+		for( RectangleBounds rect : rects){
+			if( rect.contains( probe))
+				hits++;
+		}
+		return hits;
+	}
+
+	@Benchmark
+	public Tuple[] tupleTranslate(){
+		for( Tuple tuple : tuples){
+			tuple.translate( 1, -1);
+			tuple.translate( -1, 1);
+		}
+		return tuples;
+	}
+
+	@Benchmark
+	public Tuple[] tupleMove(){
+		for( int i = 0; i < count; i++){
+			Tuple tuple = tuples[i];
+			tuple.move( tuple.y(), tuple.x());
+		}
+		return tuples;
+	}
+}
@@ -0,0 +1,76 @@
+package sidescroller.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sidescroller.entity.player.PlayerHitBox;
+import sidescroller.entity.property.HitBox;
+
+/**
+ * narrow phase of one moving box against a growing number of static hitboxes without any broadphase,
+ * a plain {@link HitBox} versus a {@link PlayerHitBox} which also finds the side of each hit.
+ */
+@State( Scope.Thread)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.NANOSECONDS)
+@Warmup( iterations = 3, time = 1)
+@Measurement( iterations = 5, time = 1)
+@Fork( 1)
+public class HitBoxBenchmark{
+
+	@Param( { "16", "256", "4096"})
+	private int count;
+
+	private HitBox[] statics;
+	private HitBox box;
+	private PlayerHitBox player;
+
+	@Setup
+	public void setup(){
+		Random rand = new Random( 7);
+		statics = new HitBox[count];
+		for( int i = 0; i < count; i++){
+			statics[i] = HitBox.build( rand.nextDouble() * 4000, rand.nextDouble() * 480, 32 + rand.nextDouble() * 192,
+					32 + rand.nextDouble() * 96);
+		}
+		box = HitBox.build( 1000, 200, 40, 40);
+		player = new PlayerHitBox();
+		player.setBounds( 1000, 200, 40, 40);
+	}
+
+	@Benchmark
+	public int hitBox(){
+		int hits = 0;
+		box.translate( 2, 3);
+		for( HitBox shape : statics){
+			if( box.intersectBounds( shape))
+				hits++;
+		}
+		box.translate( -2, -3);
+		return hits;
+	}
+
+	@Benchmark
+	public int playerHitBox(){
+		int hits = 0;
+		player.translate( 2, 3);
+		for( HitBox shape : statics){
+			if( player.intersectBounds( shape))
+				hits += player.getDirectionMask();
+		}
+		player.translate( -2, -3);
+		return hits;
+	}
+}
@@ -0,0 +1,42 @@
+package sidescroller.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sidescroller.scene.MapScene;
+import sidescroller.scene.MapSceneInterface;
+import utility.Tuple;
+
+/**
+ * layout generation of a headless map of growing width. covers {@link sidescroller.scene.MapBuilder},
+ * the collision map and the spatial hash, but not sprite snapshots which need the FX thread.
+ */
+@State( Scope.Thread)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.MICROSECONDS)
+@Warmup( iterations = 3, time = 1)
+@Measurement( iterations = 5, time = 1)
+@Fork( 1)
+public class MapBuildBenchmark{
+
+	@Param( { "1", "4", "16", "64", "256"})
+	private int segments;
+
+	@Benchmark
+	public MapSceneInterface build(){
+		MapSceneInterface map = new MapScene();
+		map.setRowAndCol( Tuple.pair( SimulationBenchmark.ROWS, SimulationBenchmark.SEGMENT_COLS * segments),
+				Tuple.pair( SimulationBenchmark.SIZE, SimulationBenchmark.SIZE), SimulationBenchmark.SCALE);
+		return map.createHeadlessScene();
+	}
+}
@@ -0,0 +1,70 @@
+package sidescroller.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sidescroller.entity.player.PlayerHitBox;
+import sidescroller.entity.property.HitBox;
+
+/**
+ * one collision step of the player, move, check against ground and wall, undo on hit and move back.
+ * run with -prof gc to see the allocation rate of each version.
+ */
+@State( Scope.Thread)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.NANOSECONDS)
+@Warmup( iterations = 3, time = 1)
+@Measurement( iterations = 5, time = 1)
+@Fork( 1)
+public class PlayerHitBoxBenchmark{
+
+	private PlayerHitBox player;
+	private LegacyPlayerHitBox legacy;
+	private HitBox ground, wall;
+
+	@Setup
+	public void setup(){
+		player = new PlayerHitBox();
+		player.setBounds( 100, 100, 32, 32);
+		legacy = new LegacyPlayerHitBox();
+		legacy.setBounds( 100, 100, 32, 32);
+		ground = HitBox.build( 0, 136, 400, 64);
+		wall = HitBox.build( 136, 0, 32, 400);
+	}
+
+	@Benchmark
+	public int playerHitBox(){
+		int hits = 0;
+		player.translate( 3, 6);
+		if( player.intersectBounds( ground) && player.isDirection( PlayerHitBox.Direction.BOTTOM))
+			hits++;
+		if( player.intersectBounds( wall) && player.isDirection( PlayerHitBox.Direction.RIGHT))
+			hits++;
+		player.undoTranslate();
+		player.translate( -3, -6);
+		return hits;
+	}
+
+	@Benchmark
+	public int legacyPlayerHitBox(){
+		int hits = 0;
+		legacy.translate( 3, 6);
+		if( legacy.intersectBounds( ground) && legacy.isDirection( LegacyPlayerHitBox.Direction.BOTTOM))
+			hits++;
+		if( legacy.intersectBounds( wall) && legacy.isDirection( LegacyPlayerHitBox.Direction.RIGHT))
+			hits++;
+		legacy.undoTranslate();
+		legacy.translate( -3, -6);
+		return hits;
+	}
+}
@@ -0,0 +1,54 @@
+package sidescroller.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utility.RectangleBounds;
+
+/**
+ * geometry checks and moves of {@link RectangleBounds}.
+ */
+@State( Scope.Thread)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.NANOSECONDS)
+@Warmup( iterations = 3, time = 1)
+@Measurement( iterations = 5, time = 1)
+@Fork( 1)
+public class RectangleBoundsBenchmark{
+
+	private RectangleBounds a, b, c;
+
+	@Setup
+	public void setup(){
+		a = new RectangleBounds( 100, 100, 200, 200);
+		b = new RectangleBounds( 150, 150, 20, 20);
+		c = new RectangleBounds( 400, 400, 20, 20);
+	}
+
+	@Benchmark
+	public boolean intersects(){
+		return a.intersects( b) & a.intersects( c);
+	}
+
+	@Benchmark
+	public boolean contains(){
+		return a.contains( b) & a.contains( c);
+	}
+
+	@Benchmark
+	public RectangleBounds translate(){
+		b.translate( 1, -1);
+		b.translate( -1, 1);
+		return b;
+	}
+}
@@ -0,0 +1,83 @@
+package sidescroller.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.scene.input.KeyCode;
+import sidescroller.animator.Simulation;
+import sidescroller.entity.player.Player;
+import sidescroller.entity.player.PlayerInput;
+import sidescroller.scene.MapScene;
+import sidescroller.scene.MapSceneInterface;
+import utility.Tuple;
+
+/**
+ * one simulation tick, update and collision, of N players on a headless map of M layout segments.
+ * each segment adds 5 static shapes. this is the work of {@link sidescroller.animator.Animator#updateEntities()},
+ * which only delegates to {@link Simulation} and cannot be created without the FX toolkit.
+ */
+@State( Scope.Thread)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.NANOSECONDS)
+@Warmup( iterations = 3, time = 1)
+@Measurement( iterations = 5, time = 1)
+@Fork( 1)
+public class SimulationBenchmark{
+
+	static final int ROWS = 15, SEGMENT_COLS = 35, SIZE = 16;
+	static final double SCALE = 2;
+
+	@Param( { "1", "16", "256"})
+	private int players;
+
+	@Param( { "1", "4", "16", "64"})
+	private int segments;
+
+	private Simulation simulation;
+	private List< PlayerInput> inputs;
+	private long tick;
+
+	@Setup
+	public void setup(){
+		MapSceneInterface map = new MapScene();
+		map.setRowAndCol( Tuple.pair( ROWS, SEGMENT_COLS * segments), Tuple.pair( SIZE, SIZE), SCALE);
+		map.drawBoundsProperty().set( false);
+		map.createHeadlessScene();
+		double cell = SIZE * SCALE;
+		inputs = new ArrayList<>( players);
+		for( int i = 0; i < players; i++){
+			PlayerInput input = new PlayerInput();
+			// spread players over the segments, above the land of each segment
+			double x = ((i % segments) * SEGMENT_COLS + 6 + (i / segments) % 20) * cell;
+			Player player = new Player( x, cell * 2, 20 * SCALE, 20 * SCALE, null);
+			player.setInput( input);
+			map.players().add( player);
+			inputs.add( input);
+		}
+		simulation = new Simulation( map);
+	}
+
+	@Benchmark
+	public Simulation tick(){
+		boolean right = (tick++ / 120) % 2 == 0;
+		for( PlayerInput input : inputs){
+			input.setKey( KeyCode.D, right);
+			input.setKey( KeyCode.A, !right);
+		}
+		simulation.updateEntities();
+		return simulation;
+	}
+}
@@ -0,0 +1,96 @@
+package sidescroller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import sidescroller.entity.sprite.AssetPack;
+import sidescroller.entity.sprite.Assets;
+
+/**
+ * <p>
+ * offline step for {@link AssetPack}. build decodes every PNG under assets/ and writes the pack SideScroller
+ * loads at startup, run it again whenever an asset changes. SideScroller falls back to the PNG files for
+ * anything missing from the pack, or for everything with --no-pack.
+ * </p>
+ * <p>
+ * compare times loading every image in the pack both ways, decoding its PNG with JavaFX and mapping the pack
+ * and copying it into a {@link javafx.scene.image.WritableImage}, and prints the median of each over the runs.
+ * it needs the JavaFX toolkit, so a display.
+ * </p>
+ *
+ * <pre>
+ * java sidescroller.AssetPackTool build [assets folder] [pack file]
+ * java sidescroller.AssetPackTool compare [runs] [pack file]
+ * </pre>
+ */
+public class AssetPackTool{
+
+	private static final int DEFAULT_RUNS = 20;
+	private static final double ONE_MILLISECOND = 1000000D;
+
+	public static void main( String[] args) throws IOException, InterruptedException{
+		String command = args.length > 0 ? args[0] : "build";
+		if( "build".equals( command)){
+			Path assets = args.length > 1 ? Paths.get( args[1]) : Paths.get( "assets");
+			Path pack = args.length > 2 ? Paths.get( args[2]) : Assets.PACK;
+			long start = System.nanoTime();
+			int count = AssetPack.write( assets, pack);
+			System.out.printf( "packed %d images into %s, %,d bytes in %.1f ms%n", count, pack, Files.size( pack),
+					(System.nanoTime() - start) / ONE_MILLISECOND);
+		}else if( "compare".equals( command)){
+			int runs = args.length > 1 ? Integer.parseInt( args[1]) : DEFAULT_RUNS;
+			Path pack = args.length > 2 ? Paths.get( args[2]) : Assets.PACK;
+			CountDownLatch started = new CountDownLatch( 1);
+			Platform.startup( started::countDown);
+			started.await();
+			compare( runs, pack);
+			Platform.exit();
+		}else{
+			System.err.println( "usage: AssetPackTool build [assets folder] [pack file] | compare [runs] [pack file]");
+		}
+	}
+
+	private static void compare( int runs, Path pack) throws IOException{
+		List< String> names = new ArrayList<>( AssetPack.open( pack).names());
+		names.sort( null);
+		long[] png = new long[runs], packed = new long[runs];
+		long pixels = 0;
+		for( int run = 0; run < runs; run++){
+			long start = System.nanoTime();
+			for( String name: names){
+				Image image = new Image( Paths.get( "assets", name).toUri().toString());
+				if( image.isError())
+					throw new IOException( "cannot decode " + name, image.getException());
+				pixels += (long) image.getWidth() * (long) image.getHeight();
+			}
+			png[run] = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			AssetPack opened = AssetPack.open( pack);
+			for( String name: names){
+				Image image = opened.image( name);
+				pixels -= (long) image.getWidth() * (long) image.getHeight();
+			}
+			packed[run] = System.nanoTime() - start;
+		}
+		if( pixels != 0)
+			throw new IllegalStateException( "pack and PNG files differ in size, rebuild the pack");
+		System.out.printf( "%d images, median of %d runs%n", names.size(), runs);
+		System.out.printf( "decode PNG:  %8.2f ms%n", median( png) / ONE_MILLISECOND);
+		System.out.printf( "mapped pack: %8.2f ms%n", median( packed) / ONE_MILLISECOND);
+	}
+
+	private static long median( long[] times){
+		long[] sorted = times.clone();
+		Arrays.sort( sorted);
+		return sorted[sorted.length / 2];
+	}
+}
@@ -0,0 +1,193 @@
+package sidescroller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.scene.input.KeyCode;
+import sidescroller.animator.Simulation;
+import sidescroller.entity.ProjectilePool;
+import sidescroller.entity.player.InputRecording;
+import sidescroller.entity.player.Player;
+import sidescroller.entity.player.PlayerInput;
+import sidescroller.scene.MapScene;
+import sidescroller.scene.MapSceneInterface;
+import utility.Tuple;
+
+/**
+ * <p>
+ * runs the game logic without JavaFX. a headless {@link MapScene} is built, players are driven by
+ * scripted {@link PlayerInput} and {@link Simulation#updateEntities()} is stepped in a tight loop.
+ * no canvas, snapshot or FX thread is needed so this can run on a display-less machine.
+ * </p>
+ * <p>
+ * --record saves the input of the first player as an {@link InputRecording}, --replay drives every player
+ * with a recording instead of the script, made here or by SideScroller, and runs as many ticks as it holds
+ * unless ticks is given.
+ * </p>
+ * 
+ * <pre>
+ * java sidescroller.HeadlessRunner [ticks] [players] [bullets] [--record=file] [--replay=file]
+ * </pre>
+ */
+public class HeadlessRunner{
+
+	private static final long DEFAULT_TICKS = 5_000_000;
+	private static final long REPORT_INTERVAL = 1_000_000_000L;
+	private static final double STRESS_SPEED = 6;
+
+	private MapSceneInterface board;
+	private Simulation simulation;
+	private List< PlayerInput> inputs;
+	private long tick;
+	private boolean replaying;
+
+	public HeadlessRunner( int playerCount){
+		this( playerCount, 0);
+	}
+
+	/**
+	 * @param playerCount - number of scripted players.
+	 * @param bullets - number of bullets kept flying across the map, zero for none.
+	 */
+	public HeadlessRunner( int playerCount, int bullets){
+		double width = SideScroller.SIZE * SideScroller.SCALE * SideScroller.COLS;
+		double height = SideScroller.SIZE * SideScroller.SCALE * SideScroller.ROWS;
+		double size = 20 * SideScroller.SCALE;
+		board = new MapScene();
+		board.setRowAndCol( Tuple.pair( SideScroller.ROWS, SideScroller.MAP_COLS), Tuple.pair( SideScroller.SIZE, SideScroller.SIZE),
+				SideScroller.SCALE);
+		board.drawBoundsProperty().set( false);
+		board.drawFPSProperty().set( false);
+		board.drawGridProperty().set( false);
+		board.createHeadlessScene();
+		inputs = new ArrayList<>( playerCount);
+		for( int i = 0; i < playerCount; i++){
+			PlayerInput input = new PlayerInput();
+			Player player = new Player( width / 2 + (i % 8) * size, height / 5, size, size, null);
+			player.setInput( input);
+			player.setProjectiles( board.getProjectiles());
+			board.players().add( player);
+			inputs.add( input);
+		}
+		board.getProjectiles().setStress( bullets, STRESS_SPEED);
+		simulation = new Simulation( board);
+	}
+
+	public MapSceneInterface getMapScene(){
+		return board;
+	}
+
+	/**
+	 * record the input seen by the first player on every tick.
+	 * @param recording - recording to add ticks to.
+	 */
+	public void record( InputRecording recording){
+		inputs.get( 0).setRecording( recording);
+	}
+
+	/**
+	 * drive every player with its own copy of given recording instead of the script.
+	 * @param recording - recording to replay from the first tick.
+	 */
+	public void replay( InputRecording recording){
+		for( PlayerInput input : inputs)
+			input.setReplay( new InputRecording( recording));
+		replaying = true;
+	}
+
+	/**
+	 * apply the scripted input for the current tick then run one simulation tick.
+	 */
+	public void step(){
+		if( replaying)
+			tick++;
+		else
+			script( tick++);
+		simulation.updateEntities();
+		simulation.getProfiler().endFrame();
+	}
+
+	/**
+	 * run the given number of ticks.
+	 * @param ticks - number of ticks to run.
+	 * @return elapsed time in nanoseconds.
+	 */
+	public long run( long ticks){
+		long start = System.nanoTime();
+		for( long i = 0; i < ticks; i++){
+			step();
+		}
+		return System.nanoTime() - start;
+	}
+
+	public long getTick(){
+		return tick;
+	}
+
+	/**
+	 * a repeating pattern of run right, run left, sprint right and jump left. each phase lasts two seconds at 60 ticks.
+	 * @param t - current tick.
+	 */
+	private void script( long t){
+		int phase = (int) ((t / 120) % 4);
+		for( PlayerInput input : inputs){
+			input.setKey( KeyCode.D, phase == 0 || phase == 2);
+			input.setKey( KeyCode.A, phase == 1 || phase == 3);
+			input.setKey( KeyCode.SHIFT, phase == 2);
+			input.setKey( KeyCode.SPACE, phase == 3 && t % 120 == 0);
+		}
+	}
+
+	public static void main( String[] args) throws IOException{
+		List< String> numbers = new ArrayList<>();
+		Path record = null, replay = null;
+		for( String arg : args){
+			if( arg.startsWith( "--record="))
+				record = Paths.get( arg.substring( "--record=".length()));
+			else if( arg.startsWith( "--replay="))
+				replay = Paths.get( arg.substring( "--replay=".length()));
+			else
+				numbers.add( arg);
+		}
+		InputRecording recording = replay == null ? null : InputRecording.load( replay);
+		long ticks = numbers.size() > 0 ? Long.parseLong( numbers.get( 0)) : recording != null ? recording.ticks() : DEFAULT_TICKS;
+		int players = numbers.size() > 1 ? Integer.parseInt( numbers.get( 1)) : 1;
+		int bullets = numbers.size() > 2 ? Integer.parseInt( numbers.get( 2)) : 0;
+		HeadlessRunner runner = new HeadlessRunner( players, bullets);
+		if( recording != null)
+			runner.replay( recording);
+		InputRecording recorded = record == null ? null : new InputRecording();
+		if( recorded != null)
+			runner.record( recorded);
+		System.out.printf( "players: %d, statics: %d, bullets: %d%n", players, runner.getMapScene().staticShapes().size(),
+				bullets);
+
+		long total = 0;
+		long lastTicks = 0;
+		long lastReport = 0;
+		while( runner.getTick() < ticks){
+			total += runner.run( Math.min( 10_000, ticks - runner.getTick()));
+			if( total - lastReport >= REPORT_INTERVAL){
+				System.out.printf( "tick %,d: %,.0f ticks/s%n", runner.getTick(),
+						(runner.getTick() - lastTicks) * 1e9 / (total - lastReport));
+				lastReport = total;
+				lastTicks = runner.getTick();
+			}
+		}
+		Player first = (Player) runner.getMapScene().players().get( 0);
+		System.out.printf( "ticks: %,d, time: %.3f s, ticks/s: %,.0f, final position: %s%n", runner.getTick(), total / 1e9,
+				runner.getTick() * 1e9 / total, first.getPosition());
+		ProjectilePool projectiles = runner.getMapScene().getProjectiles();
+		if( bullets > 0)
+			System.out.printf( "bullets live: %d, fired: %,d, recycled: %,d%n", projectiles.size(), projectiles.getFired(),
+					projectiles.getRecycled());
+		System.out.print( runner.simulation.getProfiler().dump());
+		if( recorded != null){
+			recorded.save( record);
+			System.out.printf( "recorded %,d ticks to %s%n", recorded.ticks(), record);
+		}
+	}
+}
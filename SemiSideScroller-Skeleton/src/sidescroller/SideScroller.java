@@ -25,12 +25,17 @@ import javafx.stage.Stage;
 import utility.InputAdapter;
 import utility.Tuple;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 
 import sidescroller.animator.Animator;
+import sidescroller.entity.player.InputRecording;
 import sidescroller.entity.player.Player;
 import sidescroller.entity.player.PlayerInput;
 import sidescroller.entity.property.Entity;
+import sidescroller.entity.sprite.AssetPack;
+import sidescroller.entity.sprite.Assets;
 import sidescroller.entity.sprite.PlayerSprite;
 import sidescroller.scene.MapScene;
 import sidescroller.scene.MapSceneInterface;
@@ -43,10 +48,14 @@ import sidescroller.scene.MapSceneInterface;
  */
 public class SideScroller extends Application {
 
-	private static final int ROWS = 15;
-	private static final int COLS = 35;
-	private static final int SIZE = 16;
-	private static final double SCALE = 2;
+	static final int ROWS = 15;
+	static final int COLS = 35;
+	/**
+	 * number of columns in the whole map, the canvas only shows {@link #COLS} of them at a time.
+	 */
+	static final int MAP_COLS = COLS * 4;
+	static final int SIZE = 16;
+	static final double SCALE = 2;
 
 	/**
 	 * size of the scene
@@ -84,7 +93,12 @@ public class SideScroller extends Application {
 	private Alert alert;
 	private MapSceneInterface board;
 	private Canvas canvas;
+	private Animator animator;
 	private List<Entity> players;
+	/**
+	 * input of the player recorded with --record=file, saved when the application stops.
+	 */
+	private InputRecording recording;
 
 	/**
 	 * this method is called at the very beginning of the JavaFX application and can
@@ -95,18 +109,38 @@ public class SideScroller extends Application {
 	@Override
 	public void init() throws Exception {
 		// TODO complete this method based on the sequence diagram.
+		// images are copied out of the pre-baked pack if there is one, see AssetPackTool
+		if (!getParameters().getUnnamed().contains("--no-pack") && Files.isRegularFile(Assets.PACK)) {
+			Assets.setPack(AssetPack.open(Assets.PACK));
+		}
 		canvas = new Canvas(width, height);
 		board = new MapScene();
-		board.setRowAndCol(Tuple.pair( ROWS, COLS), Tuple.pair( SIZE, SIZE), SCALE);
-		Animator animator = new Animator();
+		board.setRowAndCol(Tuple.pair( ROWS, MAP_COLS), Tuple.pair( SIZE, SIZE), SCALE);
+		animator = new Animator();
 		animator.setCanvas(canvas);
 		animator.setMapScene(board);
+		animator.setThreadedSimulation(getParameters().getUnnamed().contains("--threaded"));
+		animator.setInterpolate(!getParameters().getUnnamed().contains("--no-interpolate"));
+		String tickRate = getParameters().getNamed().get("tick-rate");
+		if (tickRate != null) {
+			animator.setFixedTimestep(Double.parseDouble(tickRate), 5);
+		}
 		board.setAnimator(animator);
 		PlayerInput input = new PlayerInput( new InputAdapter(canvas)); 
+		input.setLatency(animator.getInputLatency());
+		String replay = getParameters().getNamed().get("replay");
+		if (replay != null) {
+			input.setReplay(InputRecording.load(Paths.get(replay)));
+		}
+		if (getParameters().getNamed().containsKey("record")) {
+			recording = new InputRecording();
+			input.setRecording(recording);
+		}
 		PlayerSprite ps = new PlayerSprite();
 		ps.setScale(SCALE);
 		Player player = new Player(width / 2, height / 5, 20*SCALE, 20*SCALE, ps);
 		player.setInput(input);
+		player.setProjectiles(board.getProjectiles());
 		players = board.players();
 		players.add(player);
 		
@@ -151,6 +185,13 @@ public class SideScroller extends Application {
 		// display the JavaFX application
 		primaryStage.show();
 		board.createScene(canvas);
+		String bullets = getParameters().getNamed().get("bullets");
+		if (bullets != null) {
+			board.getProjectiles().setStress(Integer.parseInt(bullets), 6);
+		}
+		if (getParameters().getUnnamed().contains("--memory-report")) {
+			System.out.print(board.memoryReport());
+		}
 		board.start();
 	}
 
@@ -162,6 +203,24 @@ public class SideScroller extends Application {
 	@Override
 	public void stop() throws Exception {
 		board.stop();
+		if (getParameters().getUnnamed().contains("--memory-report")) {
+			// the cached layers are baked on the first frame, after the report printed at start
+			System.out.print(board.memoryReport());
+		}
+		if (recording != null) {
+			recording.save(Paths.get(getParameters().getNamed().get("record")));
+		}
+		if (recording != null || getParameters().getNamed().containsKey("replay")) {
+			System.out.println("final position: " + ((Player) players.get(0)).getPosition());
+		}
+		if (getParameters().getUnnamed().contains("--frame-report")) {
+			System.out.println(animator.getFrameTimes().report());
+			System.out.print(animator.getProfiler().dump());
+			if (animator.isThreadedSimulation()) {
+				System.out.print(animator.getSimulationProfiler().dump());
+			}
+			System.out.print(animator.getInputLatency().report());
+		}
 	}
 
 	/**
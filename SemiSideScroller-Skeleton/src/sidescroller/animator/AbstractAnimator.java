@@ -4,28 +4,47 @@ import javafx.animation.AnimationTimer;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
-import sidescroller.entity.FpsCounter;
+import sidescroller.entity.FrameTimeCounter;
 import sidescroller.entity.Grid;
+import sidescroller.entity.PhaseProfiler;
+import sidescroller.entity.PhaseProfiler.Phase;
+import sidescroller.entity.player.InputLatency;
 import sidescroller.entity.property.Drawable;
+import sidescroller.jfr.FrameEvent;
 import sidescroller.scene.MapSceneInterface;
 import utility.Tuple;
 
 public abstract class AbstractAnimator extends AnimationTimer implements AnimatorInterface {
+	private static final long ONE_SECOND = 1000000000L;
+	private static final int DEFAULT_TICKS = 60;
+	private static final int DEFAULT_MAX_STEPS = 5;
+
 	protected MapSceneInterface map;
 	protected Tuple mouse;
 	private Canvas canvas;
-	private FpsCounter fps;
+	private FrameTimeCounter fps;
+	private PhaseProfiler profiler;
+	private InputLatency latency = new InputLatency();
 	private Grid grid;
 	private Drawable<?> fpsSprite;
 	private Drawable<?> gridSprite;
+	/**
+	 * length of one simulation tick in nanoseconds, zero means one update per pulse.
+	 */
+	private long stepNanos;
+	private int maxSteps;
+	private long accumulator;
+	private long lastPulse = -1;
 
 	public AbstractAnimator() {
 		mouse = new Tuple();
-		fps = new FpsCounter(10, 25);
+		fps = new FrameTimeCounter(10, 25);
 		fpsSprite = fps.getDrawable();
 		fpsSprite.setFill(Color.BLACK);
 		fpsSprite.setStroke(Color.WHITE);
 		fpsSprite.setWidth(1);
+		profiler = new PhaseProfiler(10, 100);
+		profiler.getDrawable().setFill(Color.BLACK);
 
 	}
 
@@ -43,31 +62,132 @@ public abstract class AbstractAnimator extends AnimationTimer implements Animato
 
 	}
 
+	@Override
+	public void setFixedTimestep(double ticksPerSecond, int maxStepsPerFrame) {
+		stepNanos = ticksPerSecond > 0 ? Math.round(ONE_SECOND / ticksPerSecond) : 0;
+		maxSteps = Math.max(1, maxStepsPerFrame);
+		accumulator = 0;
+		lastPulse = -1;
+	}
+
+	@Override
+	public boolean isFixedTimestep() {
+		return stepNanos > 0;
+	}
+
+	/**
+	 * @return length of one simulation tick in nanoseconds, 1/60 of a second if not in fixed timestep mode.
+	 */
+	protected long getStepNanos() {
+		return stepNanos > 0 ? stepNanos : ONE_SECOND / DEFAULT_TICKS;
+	}
+
+	/**
+	 * @return part of a tick left in the accumulator after {@link #simulate(long)}, from zero to one.
+	 * one when not in fixed timestep mode as every pulse runs exactly one tick.
+	 */
+	protected double getAlpha() {
+		return stepNanos > 0 ? Math.min(1, (double) accumulator / stepNanos) : 1;
+	}
+
+	/**
+	 * @return most ticks to catch up in one go.
+	 */
+	protected int getMaxSteps() {
+		return stepNanos > 0 ? maxSteps : DEFAULT_MAX_STEPS;
+	}
+
+	@Override
+	public void start() {
+		// time spent stopped must not be simulated when resuming
+		accumulator = 0;
+		lastPulse = -1;
+		fps.skipNext();
+		super.start();
+	}
+
+	/**
+	 * advance the simulation for the pulse at given time. by default {@link #updateEntities()} is called once,
+	 * in fixed timestep mode elapsed time is accumulated and consumed in whole ticks, at most maxSteps per pulse.
+	 * @param now - time stamp of current pulse in nanoseconds.
+	 */
+	protected void simulate(long now) {
+		if (stepNanos <= 0) {
+			updateEntities();
+			return;
+		}
+		if (lastPulse >= 0) {
+			accumulator += now - lastPulse;
+		}
+		lastPulse = now;
+		int steps = 0;
+		while (accumulator >= stepNanos && steps < maxSteps) {
+			updateEntities();
+			accumulator -= stepNanos;
+			steps++;
+		}
+		// too far behind, drop the backlog instead of spiraling
+		if (accumulator >= stepNanos) {
+			accumulator %= stepNanos;
+		}
+	}
+
 	public void handle(long now) {
 
 		GraphicsContext gc = canvas.getGraphicsContext2D();
+		FrameEvent event = new FrameEvent();
+		event.begin();
 
-		if (map.getDrawFPS()) {
-			fps.calculateFPS(now);
-		}
+		fps.record(now);
 		handle(gc, now);
 
+		long start = profiler.start();
 		if (map.getDrawGrid()) {
-			if (grid == null) {
+			// the grid image is only made again when rows and columns, tile size or scale of the map change
+			if (grid == null || !grid.getCount().equals(map.getGridCount())) {
 				grid = new Grid(map.getGridCount(), canvas.getWidth(), canvas.getHeight());
 				gridSprite = grid.getDrawable();
 				gridSprite.setStroke(Color.BLACK);
 				gridSprite.setWidth(1);
+			}
+			if (gridSprite.getScale() != map.getScale()) {
 				gridSprite.setScale(map.getScale());
+			}
+			if (!map.getGridSize().equals(gridSprite.getTileSize())) {
 				gridSprite.setTileSize(map.getGridSize());
 			}
-			grid.getDrawable().draw(gc);
+			gc.save();
+			gc.translate(-map.getCamera().x(), -map.getCamera().y());
+			gridSprite.draw(gc, map.getCamera().getView());
+			gc.restore();
 		}
 		if (map.getDrawFPS()) {
-			fps.getDrawable().draw(gc);;
+			fps.getDrawable().draw(gc);
+			profiler.getDrawable().draw(gc);
+		}
+		profiler.stop(Phase.DRAW, start);
+		profiler.endFrame();
+		event.end();
+		if (event.shouldCommit()) {
+			event.setPhases(profiler, fps.getLastFrame()).commit();
 		}
 	}
 	
+	@Override
+	public FrameTimeCounter getFrameTimes() {
+		return fps;
+	}
+
+	@Override
+	public PhaseProfiler getProfiler() {
+		return profiler;
+	}
+
+	@Override
+	public InputLatency getInputLatency() {
+		return latency;
+	}
+
 	@Override
 	public void setCanvas(Canvas canvas) {
 		this.canvas = canvas;
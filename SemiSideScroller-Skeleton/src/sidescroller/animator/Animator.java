@@ -1,88 +1,259 @@
 package sidescroller.animator;
 
 import java.util.Iterator;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
-import sidescroller.entity.player.Player;
+import sidescroller.entity.PhaseProfiler;
+import sidescroller.entity.PhaseProfiler.Phase;
+import sidescroller.entity.ProjectilePool;
+import sidescroller.entity.property.Drawable;
 import sidescroller.entity.property.Entity;
 import sidescroller.entity.property.HitBox;
+import sidescroller.scene.Camera;
+import sidescroller.scene.MapSceneInterface;
+import utility.RectangleBounds;
 
 public class Animator extends AbstractAnimator {
 
+	private static final double HITBOX_WIDTH = 3;
+
 	private Color background = Color.ANTIQUEWHITE;
-	private Consumer<Entity> draw;
+	private CachedLayer terrain = new CachedLayer();
+	private CachedLayer staticBounds = new CachedLayer();
 	private Iterator<Entity> iterator;
+	private Simulation simulation;
+	private SnapshotBuffer buffer = new SnapshotBuffer();
+	/**
+	 * snapshot drawn by the current frame, null until the first tick.
+	 */
+	private WorldSnapshot snapshot;
+	private RectangleBounds target = new RectangleBounds();
+	private boolean threaded;
+	private boolean interpolate = true;
+	/**
+	 * blend of the frame being drawn between the previous tick, zero, and the tick of the snapshot, one.
+	 */
+	private double alpha = 1;
+	private SimulationThread thread;
+	/**
+	 * profile of the last simulation thread, kept after it stops so it can still be reported.
+	 */
+	private PhaseProfiler threadProfiler;
 
-	public void handle(GraphicsContext gc, long now) {
-		updateEntities();
-		clearAndFill(gc, background);
-		drawEntities(gc);
+	@Override
+	public void setMapScene(MapSceneInterface map) {
+		boolean running = thread != null;
+		stopThread();
+		super.setMapScene(map);
+		simulation = new Simulation(map, getProfiler());
+		threadProfiler = null;
+		buffer = new SnapshotBuffer();
+		snapshot = null;
+		if (running) {
+			startThread();
+		}
 	}
 
-	public void drawEntities(GraphicsContext gc) {
-		draw = e -> {
-			if (e != null && e.isDrawable()) {
-				e.getDrawable().draw(gc);
-				if (map.getDrawBounds() && e.hasHitbox()) {
-					e.getHitBox().getDrawable().draw(gc);
-				}
-			}
-		};
+	@Override
+	public void setThreadedSimulation(boolean threaded) {
+		this.threaded = threaded;
+		if (!threaded) {
+			stopThread();
+		}
+	}
+
+	@Override
+	public boolean isThreadedSimulation() {
+		return threaded;
+	}
 
-		draw.accept(map.getBackground());
-		for (Entity e : map.staticShapes()) {
-			draw.accept(e);
+	@Override
+	public void setInterpolate(boolean interpolate) {
+		this.interpolate = interpolate;
+	}
+
+	@Override
+	public boolean isInterpolate() {
+		return interpolate;
+	}
+
+	@Override
+	public void start() {
+		super.start();
+		if (threaded) {
+			startThread();
 		}
-		for (Entity e : map.players()) {
-			draw.accept(e);
+	}
+
+	@Override
+	public void stop() {
+		stopThread();
+		super.stop();
+	}
+
+	void startThread() {
+		if (thread == null) {
+			thread = new SimulationThread(simulation, buffer, this::capture, getStepNanos(), getMaxSteps());
+			threadProfiler = thread.getProfiler();
+			thread.start();
+		}
+	}
+
+	void stopThread() {
+		if (thread != null) {
+			thread.stop();
+			thread = null;
 		}
+	}
 
+	@Override
+	public long getCachedLayerBytes() {
+		return terrain.getBytes() + staticBounds.getBytes();
 	}
 
-	public void updateEntities() {
-		for(Entity player : map.players()) {
-			player.update();
+	private void capture(WorldSnapshot back) {
+		back.capture(map, simulation.getTick(), getInputLatency());
+	}
+
+	/**
+	 * @return time spent in update and collision by the last simulation thread, also once it stopped.
+	 * the profiler of this animator if no thread ran since the map was set.
+	 */
+	public PhaseProfiler getSimulationProfiler() {
+		return threadProfiler != null ? threadProfiler : simulation.getProfiler();
+	}
+
+	/**
+	 * run the simulation for this pulse unless a {@link SimulationThread} does, then draw the latest
+	 * {@link WorldSnapshot}.
+	 */
+	public void handle(GraphicsContext gc, long now) {
+		if (thread == null) {
+			simulate(now);
+			capture(buffer.back());
+			buffer.publish();
 		}
-		for(Entity player : map.staticShapes()) {
-			player.update();
+		snapshot = buffer.latest();
+		alpha = interpolate && snapshot != null ? alpha(snapshot) : 1;
+		if (snapshot != null && snapshot.playerCount() > 0) {
+			target.move(snapshot.boundsX(0, alpha), snapshot.boundsY(0, alpha)).dimension(snapshot.boundsW(0),
+					snapshot.boundsH(0));
+			map.getCamera().follow(target);
 		}
-		if(map.getDrawBounds()) {
-			for(Entity player : map.players()) {
-				player.getHitBox();
-				player.getDrawable().setStroke(Color.RED);
-			}
+		long start = getProfiler().start();
+		clearAndFill(gc, background);
+		getProfiler().stop(Phase.CLEAR, start);
+		start = getProfiler().start();
+		drawEntities(gc);
+		if (snapshot != null) {
+			getInputLatency().drawn(snapshot.pending(), System.nanoTime());
 		}
-		for(Entity staticShape : map.staticShapes()) {
-			proccessEntityList(map.players().iterator(), staticShape.getHitBox());
+		getProfiler().stop(Phase.DRAW, start);
+	}
+
+	/**
+	 * @param s - snapshot to draw.
+	 * @return time since the tick of the snapshot as part of a tick, from the accumulator when ticking on this
+	 * thread or from the capture time when a simulation thread publishes on its own schedule.
+	 */
+	private double alpha(WorldSnapshot s) {
+		if (thread == null) {
+			return getAlpha();
 		}
+		double elapsed = (double) (System.nanoTime() - s.time()) / getStepNanos();
+		return Math.max(0, Math.min(1, elapsed));
 	}
 
-	public void proccessEntityList(Iterator<Entity> iterator, HitBox shapeHitBox) {
+	/**
+	 * draw the part of the map in view of the camera. background and static shapes are baked into
+	 * {@link CachedLayer}s once per map version, players and bullets are drawn from the latest
+	 * {@link WorldSnapshot} so the live entities are never read here.
+	 */
+	public void drawEntities(GraphicsContext gc) {
+		Camera camera = map.getCamera();
+		RectangleBounds view = camera.getView();
+		long version = map.getMapVersion();
+		if (!terrain.isValid(version)) {
+			bake(terrain, version, (layer, bounds) -> {
+				drawSprite(layer, bounds, map.getBackground());
+				for (Entity e : map.staticShapes()) {
+					drawSprite(layer, bounds, e);
+				}
+			});
+			staticBounds.invalidate();
+		}
 
-		while (iterator.hasNext()) {
+		gc.save();
+		gc.translate(-camera.x(), -camera.y());
+		terrain.draw(gc, view);
+		if (map.getDrawBounds()) {
+			if (!staticBounds.isValid(version)) {
+				bake(staticBounds, version, (layer, bounds) -> {
+					for (Entity e : map.staticShapes()) {
+						if (e.hasHitbox() && bounds.intersects(e.getHitBox().getBounds())) {
+							e.getHitBox().getDrawable().draw(layer);
+						}
+					}
+				});
+			}
+			staticBounds.draw(gc, view);
+		}
+		if (snapshot != null) {
+			drawBullets(gc, snapshot, view);
+			drawPlayers(gc, snapshot, view);
+		}
+		gc.restore();
+	}
 
-			Entity entity = iterator.next();
-			HitBox bounds = entity.getHitBox();
+	private void drawBullets(GraphicsContext gc, WorldSnapshot s, RectangleBounds view) {
+		ProjectilePool pool = s.projectiles();
+		for (int i = 0; i < s.bulletCount(); i++) {
+			double x = s.bulletX(i, alpha), y = s.bulletY(i, alpha), w = s.bulletW(i), h = s.bulletH(i);
+			if (view.intersects(x, y, w, h)) {
+				pool.drawBullet(gc, s.bulletType(i), x, y, w, h, s.bulletLeft(i));
+			}
+		}
+	}
 
-			if (!map.inMap(bounds)) {
-				updateEntity(entity, iterator);
-			} else if (shapeHitBox != null && bounds.intersectBounds(shapeHitBox)) {
-				if (map.getDrawBounds()) {
-					bounds.getDrawable().setStroke(Color.BLUEVIOLET);;
-				}
-				updateEntity(entity, iterator);
+	private void drawPlayers(GraphicsContext gc, WorldSnapshot s, RectangleBounds view) {
+		for (int i = 0; i < s.playerCount(); i++) {
+			Drawable<?> sprite = s.player(i).pose(s.playerX(i, alpha), s.playerY(i, alpha), s.tile(i), s.left(i),
+					s.animationTicks(i));
+			if (sprite != null) {
+				sprite.draw(gc, view);
+			}
+			double x = s.boundsX(i, alpha), y = s.boundsY(i, alpha), w = s.boundsW(i), h = s.boundsH(i);
+			if (map.getDrawBounds() && view.intersects(x, y, w, h)) {
+				gc.setLineWidth(HITBOX_WIDTH);
+				gc.setStroke(s.directions(i) == 0 ? Color.RED : Color.BLUEVIOLET);
+				gc.strokeRect(x, y, w, h);
 			}
+		}
+	}
 
+	private void drawSprite(GraphicsContext gc, RectangleBounds bounds, Entity e) {
+		if (e != null && e.isDrawable()) {
+			e.getDrawable().draw(gc, bounds);
 		}
+	}
 
+	private void bake(CachedLayer layer, long version, BiConsumer<GraphicsContext, RectangleBounds> painter) {
+		RectangleBounds background = map.getBackground().getHitBox().getBounds();
+		RectangleBounds view = map.getCamera().getView();
+		layer.bake(view.w(), view.h(), background.w(), background.h(), version, painter);
+	}
+
+	public void updateEntities() {
+		simulation.updateEntities();
+	}
+
+	public void proccessEntityList(Iterator<Entity> iterator, HitBox shapeHitBox) {
+		simulation.proccessEntityList(iterator, shapeHitBox);
 	}
 
 	public void updateEntity(Entity entity, Iterator<Entity> iterator) {
-//		 player;
-		if(entity instanceof Player) {
-			((Player) entity).stepBack();
-		}
+		simulation.updateEntity(entity, iterator);
 	}
 }
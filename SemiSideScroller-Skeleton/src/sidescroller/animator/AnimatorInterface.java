@@ -5,6 +5,9 @@ import java.util.Iterator;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
+import sidescroller.entity.FrameTimeCounter;
+import sidescroller.entity.PhaseProfiler;
+import sidescroller.entity.player.InputLatency;
 import sidescroller.entity.property.Entity;
 import sidescroller.entity.property.HitBox;
 import sidescroller.scene.MapSceneInterface;
@@ -26,6 +29,62 @@ public interface AnimatorInterface{
 	void proccessEntityList( Iterator< Entity> iterator, HitBox shapeHitBox);
 
 	void updateEntity( Entity entity, Iterator< Entity> iterator);
+
+	/**
+	 * run the simulation at a fixed rate instead of once per pulse. rendering still happens on every pulse.
+	 * @param ticksPerSecond - number of simulation ticks per second, zero or less returns to one update per pulse.
+	 * @param maxStepsPerFrame - max number of ticks to catch up in one pulse, anything more is dropped.
+	 */
+	void setFixedTimestep( double ticksPerSecond, int maxStepsPerFrame);
+
+	/**
+	 * @return true if simulation is running at a fixed rate.
+	 */
+	boolean isFixedTimestep();
+
+	/**
+	 * run the simulation on its own thread at the fixed rate, or 60 ticks per second if none is set. the JavaFX
+	 * thread then only draws the latest snapshot of the world. takes effect on the next {@link #start()}.
+	 * {@link #updateEntities()} must not be called while the thread runs.
+	 * @param threaded - true to use a simulation thread, false to update on the JavaFX thread.
+	 */
+	void setThreadedSimulation( boolean threaded);
+
+	/**
+	 * @return true if the simulation runs on its own thread when started.
+	 */
+	boolean isThreadedSimulation();
+
+	/**
+	 * draw moving entities between the previous and the last tick, by the part of a tick elapsed since
+	 * the last one, so motion is smooth when the display rate is not a multiple of the tick rate.
+	 * the world is drawn up to one tick late. on by default, only matters with a fixed timestep or threaded simulation.
+	 * @param interpolate - true to blend, false to draw the last tick as is.
+	 */
+	void setInterpolate( boolean interpolate);
+
+	boolean isInterpolate();
+
+	/**
+	 * @return time between pulses recorded since the animator was created.
+	 */
+	FrameTimeCounter getFrameTimes();
+
+	/**
+	 * @return time spent in each stage of the frame, over recent frames.
+	 */
+	PhaseProfiler getProfiler();
+
+	/**
+	 * @return delay from input events to the update and the draw which show them.
+	 */
+	InputLatency getInputLatency();
+
+	/**
+	 * the cached layers are baked from the sprite snapshots, which stay in memory too.
+	 * @return memory used by the layers baked from background and static shapes, zero before the first draw.
+	 */
+	long getCachedLayerBytes();
 	
 	void start();
 	
@@ -0,0 +1,113 @@
+package sidescroller.animator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import utility.RectangleBounds;
+
+/**
+ * <p>
+ * content which does not change between frames, painted once into images and then drawn with one
+ * drawImage per visible chunk instead of one draw call per entity. the layer covers the whole map and
+ * is split in chunks the size of the canvas so no single image grows with the map.
+ * </p>
+ * <p>
+ * the layer is baked against a version of the map, see {@link sidescroller.scene.MapSceneInterface#getMapVersion()}.
+ * when the version changes {@link #isValid(long)} returns false and the layer must be baked again.
+ * must be used on the FX thread.
+ * </p>
+ */
+public class CachedLayer {
+
+	private final List<Image> chunks = new ArrayList<>();
+	private final List<RectangleBounds> chunkBounds = new ArrayList<>();
+	private Canvas scratch;
+	private long version = -1;
+
+	/**
+	 * @param mapVersion - current version of the map.
+	 * @return true if the layer was baked for the given version.
+	 */
+	public boolean isValid(long mapVersion) {
+		return version == mapVersion;
+	}
+
+	/**
+	 * drop the baked images, the layer is invalid until baked again.
+	 */
+	public void invalidate() {
+		chunks.clear();
+		chunkBounds.clear();
+		version = -1;
+	}
+
+	/**
+	 * paint the layer chunk by chunk. painter is called once per chunk with a context translated to map
+	 * coordinates and the bounds of the chunk, anything it draws outside of the chunk is lost.
+	 * @param chunkW - width of a chunk, normally width of the canvas.
+	 * @param chunkH - height of a chunk, normally height of the canvas.
+	 * @param mapW - width of the map.
+	 * @param mapH - height of the map.
+	 * @param mapVersion - version of the map being painted.
+	 * @param painter - draws the content of the layer inside of the given bounds.
+	 */
+	public void bake(double chunkW, double chunkH, double mapW, double mapH, long mapVersion,
+			BiConsumer<GraphicsContext, RectangleBounds> painter) {
+		invalidate();
+		if (scratch == null || scratch.getWidth() != chunkW || scratch.getHeight() != chunkH) {
+			scratch = new Canvas(chunkW, chunkH);
+		}
+		GraphicsContext gc = scratch.getGraphicsContext2D();
+		SnapshotParameters sp = new SnapshotParameters();
+		sp.setFill(Color.TRANSPARENT);
+		for (double x = 0; x < mapW; x += chunkW) {
+			for (double y = 0; y < mapH; y += chunkH) {
+				double w = Math.min(chunkW, mapW - x), h = Math.min(chunkH, mapH - y);
+				RectangleBounds bounds = new RectangleBounds(x, y, w, h);
+				gc.clearRect(0, 0, chunkW, chunkH);
+				gc.save();
+				gc.translate(-x, -y);
+				painter.accept(gc, bounds);
+				gc.restore();
+				int iw = (int) Math.ceil(w), ih = (int) Math.ceil(h);
+				sp.setViewport(new Rectangle2D(0, 0, iw, ih));
+				chunks.add(scratch.snapshot(sp, new WritableImage(iw, ih)));
+				chunkBounds.add(bounds);
+			}
+		}
+		version = mapVersion;
+	}
+
+	/**
+	 * draw the chunks which are in view.
+	 * @param gc - context translated to map coordinates.
+	 * @param view - visible area of the map.
+	 */
+	public void draw(GraphicsContext gc, RectangleBounds view) {
+		for (int i = 0; i < chunks.size(); i++) {
+			RectangleBounds bounds = chunkBounds.get(i);
+			if (view.intersects(bounds)) {
+				gc.drawImage(chunks.get(i), bounds.x(), bounds.y());
+			}
+		}
+	}
+
+	/**
+	 * @return memory used by the baked chunks at 4 bytes per pixel.
+	 */
+	public long getBytes() {
+		long bytes = 0;
+		for (Image chunk : chunks) {
+			bytes += 4L * (long) chunk.getWidth() * (long) chunk.getHeight();
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,168 @@
+package sidescroller.animator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import sidescroller.entity.PhaseProfiler;
+import sidescroller.entity.ProjectilePool;
+import sidescroller.entity.PhaseProfiler.Phase;
+import sidescroller.entity.player.Player;
+import sidescroller.entity.property.Entity;
+import sidescroller.entity.property.HitBox;
+import sidescroller.jfr.CollisionEvent;
+import sidescroller.scene.CollisionMap;
+import sidescroller.scene.EntityStore;
+import sidescroller.scene.MapSceneInterface;
+
+/**
+ * the update and collision half of the game loop. this class does not touch {@link javafx.scene.canvas.Canvas}
+ * or the FX thread so it can be stepped by {@link Animator} or by a headless loop.
+ */
+public class Simulation {
+
+	private MapSceneInterface map;
+	private List<Entity> nearby = new ArrayList<>();
+	private int[] ids = new int[0];
+	private PhaseProfiler profiler;
+	/**
+	 * collision tests and hits of the current tick, reported in {@link CollisionEvent}.
+	 */
+	private int checks, hits;
+	private long tick;
+
+	public Simulation(MapSceneInterface map) {
+		this(map, new PhaseProfiler(10, 100));
+	}
+
+	/**
+	 * @param map - map to simulate.
+	 * @param profiler - receives the time of {@link Phase#UPDATE} and {@link Phase#COLLISION}, the caller ends the frames.
+	 */
+	public Simulation(MapSceneInterface map, PhaseProfiler profiler) {
+		this.map = map;
+		this.profiler = profiler;
+	}
+
+	public PhaseProfiler getProfiler() {
+		return profiler;
+	}
+
+	/**
+	 * @param profiler - receives the time of {@link Phase#UPDATE} and {@link Phase#COLLISION} from now on.
+	 */
+	public void setProfiler(PhaseProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	/**
+	 * @return number of times {@link #updateEntities()} has run.
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	public MapSceneInterface getMapScene() {
+		return map;
+	}
+
+	public void updateEntities() {
+		tick++;
+		long start = profiler.start();
+		// players and static shapes are still updated as objects, only bullets are moved from the arrays of a store
+		for(Entity player : map.players()) {
+			player.update();
+		}
+		for(Entity player : map.staticShapes()) {
+			player.update();
+		}
+		ProjectilePool projectiles = map.getProjectiles();
+		if (projectiles != null) {
+			projectiles.move();
+		}
+		profiler.stop(Phase.UPDATE, start);
+		start = profiler.start();
+		CollisionEvent event = new CollisionEvent();
+		event.begin();
+		int skipped = 0;
+		checks = hits = 0;
+		// broadphase, each player is only tested against the static shapes near it.
+		// every static hitbox comes from terrain in the collision map, so no flagged cell means nothing to test.
+		CollisionMap terrain = map.getCollisionMap();
+		for(Entity player : map.players()) {
+			HitBox bounds = player.getHitBox();
+			if (!map.inMap(bounds)) {
+				updateEntity(player, null);
+			}
+			if (terrain != null && terrain.query(bounds) == CollisionMap.EMPTY) {
+				skipped++;
+				continue;
+			}
+			EntityStore store = map.getStaticStore();
+			if (store == null) {
+				for(Entity staticShape : map.queryStaticShapes(bounds, nearby)) {
+					processEntity(player, staticShape.getHitBox());
+				}
+				continue;
+			}
+			if (ids.length < store.size()) {
+				ids = new int[store.size()];
+			}
+			// narrow phase reads bounds straight from the arrays of the store
+			int count = map.queryStaticIds(bounds, ids);
+			for (int i = 0; i < count; i++) {
+				int id = ids[i];
+				checks++;
+				if (bounds.intersectBounds(store.x(id), store.y(id), store.w(id), store.h(id))) {
+					hits++;
+					collided(player);
+				}
+			}
+		}
+		if (projectiles != null) {
+			projectiles.collide(map);
+		}
+		profiler.stop(Phase.COLLISION, start);
+		event.end();
+		if (event.shouldCommit()) {
+			event.setCounts(map.players().size(), skipped, checks, hits).commit();
+		}
+	}
+
+	private void processEntity(Entity entity, HitBox shapeHitBox) {
+		HitBox bounds = entity.getHitBox();
+		checks++;
+		if (shapeHitBox != null && bounds.intersectBounds(shapeHitBox)) {
+			hits++;
+			collided(entity);
+		}
+	}
+
+	private void collided(Entity entity) {
+		// the hitbox color is picked by the renderer from the snapshot, see WorldSnapshot#directions
+		updateEntity(entity, null);
+	}
+
+	public void proccessEntityList(Iterator<Entity> iterator, HitBox shapeHitBox) {
+		long start = profiler.start();
+		while (iterator.hasNext()) {
+
+			Entity entity = iterator.next();
+			HitBox bounds = entity.getHitBox();
+
+			if (!map.inMap(bounds)) {
+				updateEntity(entity, iterator);
+			} else if (shapeHitBox != null && bounds.intersectBounds(shapeHitBox)) {
+				updateEntity(entity, iterator);
+			}
+
+		}
+		profiler.stop(Phase.COLLISION, start);
+	}
+
+	public void updateEntity(Entity entity, Iterator<Entity> iterator) {
+		if(entity instanceof Player) {
+			((Player) entity).stepBack();
+		}
+	}
+}
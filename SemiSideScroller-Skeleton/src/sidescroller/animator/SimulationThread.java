@@ -0,0 +1,112 @@
+package sidescroller.animator;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import sidescroller.entity.PhaseProfiler;
+
+/**
+ * <p>
+ * runs {@link Simulation#updateEntities()} at a fixed rate on its own thread and publishes a
+ * {@link WorldSnapshot} to a {@link SnapshotBuffer} after every tick. the JavaFX thread only draws the
+ * latest snapshot, so a slow tick delays neither rendering nor input handling.
+ * </p>
+ * <p>
+ * ticks are scheduled on absolute time stamps. if the thread falls more than maxSteps ticks behind the
+ * backlog is dropped instead of spiraling, like the fixed timestep of {@link AbstractAnimator}.
+ * the simulation has its own {@link PhaseProfiler} as the one of the animator belongs to the JavaFX thread.
+ * </p>
+ */
+public class SimulationThread implements Runnable {
+
+	private final Simulation simulation;
+	private final SnapshotBuffer buffer;
+	private final Consumer<WorldSnapshot> capture;
+	private final PhaseProfiler profiler = new PhaseProfiler(10, 180);
+	private final long stepNanos;
+	private final int maxSteps;
+	private volatile boolean running;
+	private Thread thread;
+	private PhaseProfiler previous;
+
+	/**
+	 * @param simulation - simulation to step, must not be stepped by another thread while running.
+	 * @param buffer - buffer to publish snapshots to.
+	 * @param capture - fills the back snapshot after each tick, see {@link WorldSnapshot#capture}.
+	 * @param stepNanos - length of one tick in nanoseconds.
+	 * @param maxSteps - most ticks to catch up at once.
+	 */
+	public SimulationThread(Simulation simulation, SnapshotBuffer buffer, Consumer<WorldSnapshot> capture,
+			long stepNanos, int maxSteps) {
+		this.simulation = simulation;
+		this.buffer = buffer;
+		this.capture = capture;
+		this.stepNanos = stepNanos;
+		this.maxSteps = Math.max(1, maxSteps);
+	}
+
+	/**
+	 * start ticking, does nothing if already running.
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		previous = simulation.getProfiler();
+		simulation.setProfiler(profiler);
+		thread = new Thread(this, "simulation");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * stop ticking and wait for the current tick to finish.
+	 */
+	public synchronized void stop() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(thread);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		thread = null;
+		simulation.setProfiler(previous);
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public void run() {
+		long next = System.nanoTime();
+		while (running) {
+			long now = System.nanoTime();
+			if (now < next) {
+				LockSupport.parkNanos(next - now);
+				continue;
+			}
+			simulation.updateEntities();
+			profiler.endFrame();
+			capture.accept(buffer.back());
+			buffer.publish();
+			next += stepNanos;
+			// too far behind, drop the backlog instead of spiraling
+			if (now - next > stepNanos * maxSteps) {
+				next = now;
+			}
+		}
+	}
+
+	/**
+	 * @return time spent updating and colliding on the simulation thread.
+	 */
+	public PhaseProfiler getProfiler() {
+		return profiler;
+	}
+}
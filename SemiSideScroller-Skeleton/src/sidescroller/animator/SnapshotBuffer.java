@@ -0,0 +1,55 @@
+package sidescroller.animator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * three {@link WorldSnapshot}s shared by one writer, the simulation, and one reader, the renderer, without locks.
+ * the writer fills {@link #back()} and swaps it with the ready snapshot in {@link #publish()}, the reader swaps
+ * its front snapshot with the ready one in {@link #latest()} if a newer one was published. each side only
+ * touches its own snapshot, so a snapshot never changes while it is read and neither side waits.
+ * </p>
+ * <p>
+ * when the writer publishes more than once between two reads only the newest snapshot is seen.
+ * </p>
+ */
+public class SnapshotBuffer {
+
+	/**
+	 * set in {@link #ready} when it holds a snapshot the reader has not taken yet.
+	 */
+	private static final int FRESH = 4;
+	private static final int INDEX = 3;
+
+	private final WorldSnapshot[] snapshots = { new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot() };
+	private final AtomicInteger ready = new AtomicInteger(1);
+	private int back = 0;
+	private int front = 2;
+	private boolean published;
+
+	/**
+	 * @return snapshot to fill, only used by the writer.
+	 */
+	public WorldSnapshot back() {
+		return snapshots[back];
+	}
+
+	/**
+	 * make the filled back snapshot the newest one, only used by the writer.
+	 */
+	public void publish() {
+		back = ready.getAndSet(back | FRESH) & INDEX;
+	}
+
+	/**
+	 * @return newest published snapshot, the same as the last call if nothing was published since.
+	 * null if nothing was published yet. only used by the reader.
+	 */
+	public WorldSnapshot latest() {
+		if ((ready.get() & FRESH) != 0) {
+			front = ready.getAndSet(front) & INDEX;
+			published = true;
+		}
+		return published ? snapshots[front] : null;
+	}
+}
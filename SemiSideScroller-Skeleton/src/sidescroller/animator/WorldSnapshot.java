@@ -0,0 +1,327 @@
+package sidescroller.animator;
+
+import java.util.Arrays;
+import java.util.List;
+
+import sidescroller.entity.ProjectilePool;
+import sidescroller.entity.player.InputLatency;
+import sidescroller.entity.player.Player;
+import sidescroller.entity.player.PlayerHitBox;
+import sidescroller.entity.property.Entity;
+import sidescroller.entity.property.HitBox;
+import sidescroller.entity.sprite.tile.Samurai;
+import sidescroller.scene.EntityStore;
+import sidescroller.scene.MapSceneInterface;
+import utility.RectangleBounds;
+import utility.Tuple;
+
+/**
+ * <p>
+ * copy of everything that moves after one simulation tick: position, hitbox and animation of each player,
+ * bounds and image of each bullet and the input events applied so far. the renderer only reads a snapshot,
+ * so the simulation can keep changing the live entities, on another thread if needed.
+ * </p>
+ * <p>
+ * positions at the end of the previous tick are kept too, from {@link HitBox#getPrev()} for players and
+ * {@link EntityStore#prevX(int)} for bullets, so the renderer can blend between the two ticks with the
+ * getters taking an alpha.
+ * </p>
+ * <p>
+ * a snapshot is filled by {@link #capture(MapSceneInterface, long, InputLatency)} and must not change while
+ * it is read, see {@link SnapshotBuffer}. arrays grow as needed and are reused, capturing does not allocate
+ * once they are big enough.
+ * </p>
+ */
+public class WorldSnapshot {
+
+	private static final Samurai[] TILES = Samurai.values();
+
+	private long tick;
+	private long time;
+
+	private int playerCount;
+	private Player[] players = new Player[1];
+	private double[] playerX = new double[1], playerY = new double[1];
+	private double[] prevX = new double[1], prevY = new double[1];
+	private double[] boundsX = new double[1], boundsY = new double[1], boundsW = new double[1], boundsH = new double[1];
+	private byte[] tiles = new byte[1];
+	private long[] animationTicks = new long[1];
+	private boolean[] left = new boolean[1];
+	private int[] directions = new int[1];
+
+	private ProjectilePool projectiles;
+	private int bulletCount;
+	private double[] bulletX = new double[1], bulletY = new double[1], bulletW = new double[1], bulletH = new double[1];
+	private double[] bulletPrevX = new double[1], bulletPrevY = new double[1];
+	private byte[] bulletTypes = new byte[1];
+	private boolean[] bulletLeft = new boolean[1];
+
+	private final InputLatency.Pending pending = new InputLatency.Pending();
+
+	/**
+	 * copy the state of the map after a tick.
+	 * @param map - map holding players and projectiles.
+	 * @param tick - number of ticks run so far.
+	 * @param latency - input latency to copy pending events from, null to skip.
+	 */
+	public void capture(MapSceneInterface map, long tick, InputLatency latency) {
+		this.tick = tick;
+		this.time = System.nanoTime();
+		List<Entity> list = map.players();
+		ensurePlayers(list.size());
+		playerCount = 0;
+		for (Entity e : list) {
+			if (!(e instanceof Player)) {
+				continue;
+			}
+			Player p = (Player) e;
+			int i = playerCount++;
+			players[i] = p;
+			playerX[i] = p.getPosition().x();
+			playerY[i] = p.getPosition().y();
+			RectangleBounds b = p.getHitBox().getBounds();
+			boundsX[i] = b.x();
+			boundsY[i] = b.y();
+			// the sprite keeps its offset from the hitbox, so its previous position follows the hitbox
+			Tuple prev = p.getHitBox().getPrev();
+			prevX[i] = prev.x() + playerX[i] - b.x();
+			prevY[i] = prev.y() + playerY[i] - b.y();
+			boundsW[i] = b.w();
+			boundsH[i] = b.h();
+			tiles[i] = (byte) p.getTile().ordinal();
+			animationTicks[i] = p.getAnimationTicks();
+			left[i] = p.isFacingLeft();
+			directions[i] = p.getHitBox() instanceof PlayerHitBox ? ((PlayerHitBox) p.getHitBox()).getDirectionMask() : 0;
+		}
+		Arrays.fill(players, playerCount, players.length, null);
+
+		projectiles = map.getProjectiles();
+		bulletCount = 0;
+		if (projectiles != null) {
+			EntityStore store = projectiles.getStore();
+			ensureBullets(store.size());
+			bulletCount = store.size();
+			for (int i = 0; i < bulletCount; i++) {
+				bulletX[i] = store.x(i);
+				bulletY[i] = store.y(i);
+				bulletPrevX[i] = store.prevX(i);
+				bulletPrevY[i] = store.prevY(i);
+				bulletW[i] = store.w(i);
+				bulletH[i] = store.h(i);
+				bulletTypes[i] = (byte) projectiles.getType(i);
+				bulletLeft[i] = store.vx(i) < 0;
+			}
+		}
+		if (latency != null) {
+			latency.capture(pending);
+		}
+	}
+
+	private void ensurePlayers(int size) {
+		if (size <= players.length) {
+			return;
+		}
+		players = Arrays.copyOf(players, size);
+		playerX = Arrays.copyOf(playerX, size);
+		playerY = Arrays.copyOf(playerY, size);
+		prevX = Arrays.copyOf(prevX, size);
+		prevY = Arrays.copyOf(prevY, size);
+		boundsX = Arrays.copyOf(boundsX, size);
+		boundsY = Arrays.copyOf(boundsY, size);
+		boundsW = Arrays.copyOf(boundsW, size);
+		boundsH = Arrays.copyOf(boundsH, size);
+		tiles = Arrays.copyOf(tiles, size);
+		animationTicks = Arrays.copyOf(animationTicks, size);
+		left = Arrays.copyOf(left, size);
+		directions = Arrays.copyOf(directions, size);
+	}
+
+	private void ensureBullets(int size) {
+		if (size <= bulletX.length) {
+			return;
+		}
+		size = Math.max(size, bulletX.length * 2);
+		bulletX = Arrays.copyOf(bulletX, size);
+		bulletY = Arrays.copyOf(bulletY, size);
+		bulletPrevX = Arrays.copyOf(bulletPrevX, size);
+		bulletPrevY = Arrays.copyOf(bulletPrevY, size);
+		bulletW = Arrays.copyOf(bulletW, size);
+		bulletH = Arrays.copyOf(bulletH, size);
+		bulletTypes = Arrays.copyOf(bulletTypes, size);
+		bulletLeft = Arrays.copyOf(bulletLeft, size);
+	}
+
+	/**
+	 * @return number of ticks run when this snapshot was captured.
+	 */
+	public long tick() {
+		return tick;
+	}
+
+	/**
+	 * @return {@link System#nanoTime()} of the capture.
+	 */
+	public long time() {
+		return time;
+	}
+
+	public int playerCount() {
+		return playerCount;
+	}
+
+	/**
+	 * @param i - index of player, from zero to {@link #playerCount()} - 1.
+	 * @return the live player, only {@link Player#pose(double, double, Samurai, boolean, long)} may be used on it.
+	 */
+	public Player player(int i) {
+		return players[i];
+	}
+
+	public double playerX(int i) {
+		return playerX[i];
+	}
+
+	public double playerY(int i) {
+		return playerY[i];
+	}
+
+	/**
+	 * @param i - index of player.
+	 * @param alpha - zero for the previous tick, one for this tick.
+	 * @return x of the sprite blended between the previous and this tick.
+	 */
+	public double playerX(int i, double alpha) {
+		return lerp(prevX[i], playerX[i], alpha);
+	}
+
+	/**
+	 * @param i - index of player.
+	 * @param alpha - zero for the previous tick, one for this tick.
+	 * @return y of the sprite blended between the previous and this tick.
+	 */
+	public double playerY(int i, double alpha) {
+		return lerp(prevY[i], playerY[i], alpha);
+	}
+
+	/**
+	 * @param i - index of player.
+	 * @param alpha - zero for the previous tick, one for this tick.
+	 * @return x of the hitbox blended between the previous and this tick.
+	 */
+	public double boundsX(int i, double alpha) {
+		return lerp(prevX[i] - playerX[i] + boundsX[i], boundsX[i], alpha);
+	}
+
+	/**
+	 * @param i - index of player.
+	 * @param alpha - zero for the previous tick, one for this tick.
+	 * @return y of the hitbox blended between the previous and this tick.
+	 */
+	public double boundsY(int i, double alpha) {
+		return lerp(prevY[i] - playerY[i] + boundsY[i], boundsY[i], alpha);
+	}
+
+	public double boundsX(int i) {
+		return boundsX[i];
+	}
+
+	public double boundsY(int i) {
+		return boundsY[i];
+	}
+
+	public double boundsW(int i) {
+		return boundsW[i];
+	}
+
+	public double boundsH(int i) {
+		return boundsH[i];
+	}
+
+	public Samurai tile(int i) {
+		return TILES[tiles[i]];
+	}
+
+	/**
+	 * @param i - index of player.
+	 * @return ticks the animation of the player had been playing, see {@link Player#getAnimationTicks()}.
+	 */
+	public long animationTicks(int i) {
+		return animationTicks[i];
+	}
+
+	public boolean left(int i) {
+		return left[i];
+	}
+
+	/**
+	 * @param i - index of player.
+	 * @return sides of the hitbox which collided in the tick, see {@link PlayerHitBox#getDirectionMask()}.
+	 */
+	public int directions(int i) {
+		return directions[i];
+	}
+
+	/**
+	 * @return pool the bullets were copied from, used to draw them. null if the map has none.
+	 */
+	public ProjectilePool projectiles() {
+		return projectiles;
+	}
+
+	public int bulletCount() {
+		return bulletCount;
+	}
+
+	public double bulletX(int i) {
+		return bulletX[i];
+	}
+
+	public double bulletY(int i) {
+		return bulletY[i];
+	}
+
+	/**
+	 * @param i - index of bullet.
+	 * @param alpha - zero for the previous tick, one for this tick.
+	 * @return x of the bullet blended between the previous and this tick.
+	 */
+	public double bulletX(int i, double alpha) {
+		return lerp(bulletPrevX[i], bulletX[i], alpha);
+	}
+
+	/**
+	 * @param i - index of bullet.
+	 * @param alpha - zero for the previous tick, one for this tick.
+	 * @return y of the bullet blended between the previous and this tick.
+	 */
+	public double bulletY(int i, double alpha) {
+		return lerp(bulletPrevY[i], bulletY[i], alpha);
+	}
+
+	public double bulletW(int i) {
+		return bulletW[i];
+	}
+
+	public double bulletH(int i) {
+		return bulletH[i];
+	}
+
+	public int bulletType(int i) {
+		return bulletTypes[i];
+	}
+
+	public boolean bulletLeft(int i) {
+		return bulletLeft[i];
+	}
+
+	private static double lerp(double from, double to, double alpha) {
+		return from + (to - from) * alpha;
+	}
+
+	/**
+	 * @return input events applied and not yet drawn when this snapshot was captured.
+	 */
+	public InputLatency.Pending pending() {
+		return pending;
+	}
+}
@@ -0,0 +1,178 @@
+package sidescroller.entity;
+
+import sidescroller.entity.property.Sprite;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import utility.Histogram;
+import utility.Tuple;
+
+/**
+ * <p>
+ * records the time between pulses in a {@link Histogram} and draws frame rate and frame time percentiles.
+ * the overlay shows the last completed window of {@link #WINDOW} nanoseconds so a stutter stays visible
+ * for a moment, {@link #getTotal()} holds every frame since the last {@link #reset()}.
+ * </p>
+ * <p>
+ * recording does not allocate, the overlay text is made once per window.
+ * </p>
+ */
+public class FrameTimeCounter extends GenericEntity{
+
+	public static final long ONE_SECOND = 1000000000L;
+	public static final long WINDOW = ONE_SECOND / 2;
+	private static final double ONE_MILLISECOND = 1000000D;
+
+	private final Histogram current = new Histogram();
+	private final Histogram lastWindow = new Histogram();
+	private final Histogram total = new Histogram();
+	private long budget = ONE_SECOND / 60;
+	private long lastPulse = -1;
+	private long lastFrame;
+	private long windowStart;
+	private long overBudget, overCurrent, overLastWindow;
+	private Font font;
+	private String display = "";
+	private Tuple pos;
+
+	public FrameTimeCounter( double x, double y){
+		sprite = new Sprite(){
+
+			@Override
+			public void draw( GraphicsContext gc){
+				Font temp = gc.getFont();
+				gc.setFont( font);
+				gc.setFill( getFill());
+				gc.fillText( display, pos.x(), pos.y());
+				gc.setStroke( getStroke());
+				gc.setLineWidth( getWidth());
+				gc.strokeText( display, pos.x(), pos.y());
+				gc.setFont( temp);
+			}
+		};
+		pos = Tuple.pair( x, y);
+		setFont( Font.font( Font.getDefault().getFamily(), FontWeight.BLACK, 16));
+	}
+
+	/**
+	 * record the time since the previous pulse.
+	 * @param now - time stamp of current pulse in nanoseconds.
+	 */
+	public void record( long now){
+		if( lastPulse < 0){
+			lastPulse = windowStart = now;
+			return;
+		}
+		long frame = now - lastPulse;
+		lastPulse = now;
+		lastFrame = frame;
+		current.record( frame);
+		total.record( frame);
+		if( frame > budget){
+			overBudget++;
+			overCurrent++;
+		}
+		if( now - windowStart >= WINDOW){
+			lastWindow.copyFrom( current);
+			current.reset();
+			overLastWindow = overCurrent;
+			overCurrent = 0;
+			double fps = lastWindow.count() * (double) ONE_SECOND / (now - windowStart);
+			windowStart = now;
+			display = String.format( "%.0f fps%nmin %.1f  mean %.1f  p50 %.1f ms%np95 %.1f  p99 %.1f  max %.1f ms%nover %.1f ms: %d",
+					fps, ms( lastWindow.min()), lastWindow.mean() / ONE_MILLISECOND, ms( lastWindow.percentile( 50)),
+					ms( lastWindow.percentile( 95)), ms( lastWindow.percentile( 99)), ms( lastWindow.max()),
+					ms( budget), overLastWindow);
+		}
+	}
+
+	/**
+	 * @return nanoseconds between the last two recorded pulses.
+	 */
+	public long getLastFrame(){
+		return lastFrame;
+	}
+
+	/**
+	 * the next pulse starts a new measurement, used when the animation is stopped and started again.
+	 */
+	public void skipNext(){
+		lastPulse = -1;
+	}
+
+	/**
+	 * forget all recorded frames.
+	 */
+	public void reset(){
+		current.reset();
+		lastWindow.reset();
+		total.reset();
+		overBudget = overCurrent = overLastWindow = 0;
+		lastPulse = -1;
+		display = "";
+	}
+
+	/**
+	 * @param budget - frame time in nanoseconds above which a frame counts as over budget, default is 1/60 of a second.
+	 * @return current instance of this class.
+	 */
+	public FrameTimeCounter setBudget( long budget){
+		this.budget = budget;
+		return this;
+	}
+
+	public long getBudget(){
+		return budget;
+	}
+
+	/**
+	 * @return number of frames since {@link #reset()} which took longer than {@link #getBudget()}.
+	 */
+	public long getOverBudget(){
+		return overBudget;
+	}
+
+	/**
+	 * @return frame times in nanoseconds since {@link #reset()}. do not modify.
+	 */
+	public Histogram getTotal(){
+		return total;
+	}
+
+	/**
+	 * @return number of frames in the last completed window which took longer than {@link #getBudget()}.
+	 */
+	public long getOverBudgetLastWindow(){
+		return overLastWindow;
+	}
+
+	/**
+	 * @return frame times in nanoseconds of the last completed window, as shown on screen. do not modify.
+	 */
+	public Histogram getLastWindow(){
+		return lastWindow;
+	}
+
+	/**
+	 * @return min, mean, p50, p95, p99 and max frame time in milliseconds and frames over budget since {@link #reset()}.
+	 */
+	public String report(){
+		return String.format( "frames %d, min %.2f, mean %.2f, p50 %.2f, p95 %.2f, p99 %.2f, max %.2f ms, over %.1f ms: %d",
+				total.count(), ms( total.min()), total.mean() / ONE_MILLISECOND, ms( total.percentile( 50)),
+				ms( total.percentile( 95)), ms( total.percentile( 99)), ms( total.max()), ms( budget), getOverBudget());
+	}
+
+	private static double ms( long nanos){
+		return nanos / ONE_MILLISECOND;
+	}
+
+	public FrameTimeCounter setFont( Font font){
+		this.font = font;
+		return this;
+	}
+
+	public FrameTimeCounter setPos( double x, double y){
+		pos.set( x, y);
+		return this;
+	}
+}
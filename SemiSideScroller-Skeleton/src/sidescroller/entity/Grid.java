@@ -1,25 +1,99 @@
 package sidescroller.entity;
 
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import sidescroller.entity.property.Sprite;
+import utility.RectangleBounds;
 import utility.Tuple;
 
+/**
+ * grid lines over the map. the lines are drawn once into an image one cell larger than the view and
+ * the image is drawn snapped to the cell under the top left of the view, so scrolling costs one drawImage.
+ * the image is made again only when tile size, scale, stroke or width change.
+ */
 public class Grid extends GenericEntity{
-	
+
+	private final Tuple count;
+	private Image image;
+
+	/**
+	 * @param count - number of rows and columns in the map.
+	 * @param w - width of the view the grid is drawn in.
+	 * @param h - height of the view the grid is drawn in.
+	 */
 	public Grid( Tuple count, double w, double h){
+		this.count = count;
 		sprite = new Sprite(){
-			
+
 			@Override
 			public void draw( GraphicsContext gc){
-				gc.setStroke( getStroke());
-				gc.setLineWidth( getWidth());
-				for(int i=0; i<count.x();i++){
-					gc.strokeLine( 0, i*getTileSize().y()*getScale(), w, i*getTileSize().y()*getScale());
-				}
-				for(int i=0; i<count.y();i++){
-					gc.strokeLine( i*getTileSize().x()*getScale(), 0, i*getTileSize().x()*getScale(), h);
-				}
+				gc.drawImage( getImage( w, h), 0, 0);
+			}
+
+			@Override
+			public void draw( GraphicsContext gc, RectangleBounds view){
+				double cellW = getTileSize().x() * getScale(), cellH = getTileSize().y() * getScale();
+				gc.drawImage( getImage( w, h), Math.floor( view.x() / cellW) * cellW, Math.floor( view.y() / cellH) * cellH);
+			}
+
+			@Override
+			public Sprite setTileSize( Tuple tileSize){
+				image = null;
+				return super.setTileSize( tileSize);
+			}
+
+			@Override
+			public Sprite setScale( double scale){
+				image = null;
+				return super.setScale( scale);
+			}
+
+			@Override
+			public Sprite setStroke( Paint color){
+				image = null;
+				return super.setStroke( color);
+			}
+
+			@Override
+			public Sprite setWidth( double width){
+				image = null;
+				return super.setWidth( width);
 			}
 		};
 	}
+
+	/**
+	 * @return number of rows and columns this grid was made for.
+	 */
+	public Tuple getCount(){
+		return count;
+	}
+
+	private Image getImage( double w, double h){
+		if( image != null)
+			return image;
+		double cellW = sprite.getTileSize().x() * sprite.getScale();
+		double cellH = sprite.getTileSize().y() * sprite.getScale();
+		int cols = (int) Math.min( count.y(), Math.ceil( w / cellW) + 1);
+		int rows = (int) Math.min( count.x(), Math.ceil( h / cellH) + 1);
+		Canvas canvas = new Canvas( cols * cellW, rows * cellH);
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+		gc.setStroke( sprite.getStroke());
+		gc.setLineWidth( sprite.getWidth());
+		// lines are moved half a pixel so they cover whole pixels and do not get cut at the image edge
+		for( int i = 0; i < rows; i++){
+			gc.strokeLine( 0, i * cellH + .5, canvas.getWidth(), i * cellH + .5);
+		}
+		for( int i = 0; i < cols; i++){
+			gc.strokeLine( i * cellW + .5, 0, i * cellW + .5, canvas.getHeight());
+		}
+		SnapshotParameters sp = new SnapshotParameters();
+		sp.setFill( Color.TRANSPARENT);
+		image = canvas.snapshot( sp, null);
+		return image;
+	}
 }
@@ -0,0 +1,181 @@
+package sidescroller.entity;
+
+import java.util.Arrays;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.Font;
+import sidescroller.entity.property.Sprite;
+import utility.Tuple;
+
+/**
+ * <p>
+ * always on timers for the stages of a frame. time spent in each {@link Phase} is added up during a frame
+ * with {@link #start()} and {@link #stop(Phase, long)}, then {@link #endFrame()} stores the frame in a ring
+ * of the last {@link #WINDOW} frames. statistics are read from the ring so they follow recent frames.
+ * </p>
+ * <p>
+ * timing and storing frames does not allocate. the overlay text is made again every {@link #REFRESH} frames.
+ * </p>
+ */
+public class PhaseProfiler extends GenericEntity{
+
+	public enum Phase{
+		UPDATE, COLLISION, CLEAR, DRAW;
+	}
+
+	public static final int WINDOW = 120;
+	public static final int REFRESH = 30;
+	private static final Phase[] PHASES = Phase.values();
+	private static final double ONE_MICROSECOND = 1000D;
+
+	private final long[] frame = new long[PHASES.length];
+	private final long[][] samples = new long[PHASES.length][WINDOW];
+	private final long[] sums = new long[PHASES.length];
+	private final long[] sorted = new long[WINDOW];
+	private int next, filled;
+	private long frames, displayFrame = -1;
+	private Font font;
+	private String display = "";
+	private Tuple pos;
+
+	public PhaseProfiler( double x, double y){
+		sprite = new Sprite(){
+
+			@Override
+			public void draw( GraphicsContext gc){
+				if( frames - displayFrame >= REFRESH){
+					display = dump();
+					displayFrame = frames;
+				}
+				if( font == null)
+					font = Font.font( "Monospaced", 12);
+				Font temp = gc.getFont();
+				gc.setFont( font);
+				gc.setFill( getFill());
+				gc.fillText( display, pos.x(), pos.y());
+				gc.setFont( temp);
+			}
+		};
+		pos = Tuple.pair( x, y);
+	}
+
+	/**
+	 * @return time stamp to pass to {@link #stop(Phase, long)}.
+	 */
+	public long start(){
+		return System.nanoTime();
+	}
+
+	/**
+	 * add the time since start to given phase of current frame.
+	 * @param phase - stage which was timed.
+	 * @param start - value returned by {@link #start()}.
+	 */
+	public void stop( Phase phase, long start){
+		frame[phase.ordinal()] += System.nanoTime() - start;
+	}
+
+	/**
+	 * store the time of each phase in current frame and start a new frame.
+	 */
+	public void endFrame(){
+		for( int p = 0; p < PHASES.length; p++){
+			sums[p] += frame[p] - samples[p][next];
+			samples[p][next] = frame[p];
+			frame[p] = 0;
+		}
+		next = (next + 1) % WINDOW;
+		if( filled < WINDOW)
+			filled++;
+		frames++;
+	}
+
+	/**
+	 * forget all stored frames.
+	 */
+	public void reset(){
+		for( int p = 0; p < PHASES.length; p++){
+			Arrays.fill( samples[p], 0);
+			sums[p] = frame[p] = 0;
+		}
+		next = filled = 0;
+		frames = 0;
+		displayFrame = -1;
+	}
+
+	/**
+	 * @return number of frames ended since {@link #reset()}.
+	 */
+	public long frames(){
+		return frames;
+	}
+
+	/**
+	 * @param phase - stage of frame.
+	 * @return nanoseconds spent in phase during the last ended frame.
+	 */
+	public long last( Phase phase){
+		return filled == 0 ? 0 : samples[phase.ordinal()][(next + WINDOW - 1) % WINDOW];
+	}
+
+	/**
+	 * @param phase - stage of frame.
+	 * @return average nanoseconds per frame spent in phase over the stored frames.
+	 */
+	public double mean( Phase phase){
+		return filled == 0 ? 0 : (double) sums[phase.ordinal()] / filled;
+	}
+
+	/**
+	 * @param phase - stage of frame.
+	 * @return most nanoseconds spent in phase by one of the stored frames.
+	 */
+	public long max( Phase phase){
+		long max = 0;
+		long[] ring = samples[phase.ordinal()];
+		for( int i = 0; i < filled; i++)
+			max = Math.max( max, ring[i]);
+		return max;
+	}
+
+	/**
+	 * @param phase - stage of frame.
+	 * @param percentile - between 0 and 100.
+	 * @return nanoseconds spent in phase at given percentile of the stored frames.
+	 */
+	public long percentile( Phase phase, double percentile){
+		if( filled == 0)
+			return 0;
+		System.arraycopy( samples[phase.ordinal()], 0, sorted, 0, filled);
+		Arrays.sort( sorted, 0, filled);
+		int rank = (int) Math.ceil( percentile / 100 * filled);
+		return sorted[Math.max( 0, Math.min( filled - 1, rank - 1))];
+	}
+
+	/**
+	 * @return one line per phase with last, mean, p95 and max time in microseconds over the stored frames.
+	 */
+	public String dump(){
+		StringBuilder sb = new StringBuilder( String.format( "%-9s %8s %8s %8s %8s us, %d frames%n", "phase", "last",
+				"mean", "p95", "max", filled));
+		for( Phase phase : PHASES){
+			sb.append( String.format( "%-9s %8.1f %8.1f %8.1f %8.1f%n", phase.name().toLowerCase(), us( last( phase)),
+					mean( phase) / ONE_MICROSECOND, us( percentile( phase, 95)), us( max( phase))));
+		}
+		return sb.toString();
+	}
+
+	private static double us( long nanos){
+		return nanos / ONE_MICROSECOND;
+	}
+
+	public PhaseProfiler setFont( Font font){
+		this.font = font;
+		return this;
+	}
+
+	public PhaseProfiler setPos( double x, double y){
+		pos.set( x, y);
+		return this;
+	}
+}
@@ -0,0 +1,226 @@
+package sidescroller.entity;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javafx.scene.canvas.GraphicsContext;
+import sidescroller.entity.property.Sprite;
+import sidescroller.entity.sprite.Assets;
+import sidescroller.entity.sprite.TextureAtlas.Region;
+import sidescroller.scene.CollisionMap;
+import sidescroller.scene.EntityStore;
+import sidescroller.scene.MapSceneInterface;
+import utility.RectangleBounds;
+
+/**
+ * <p>
+ * every live bullet of the map in one {@link EntityStore} of fixed capacity, so firing and recycling
+ * never allocate. bullets are moved together by {@link #move()} and tested against the terrain in
+ * {@link CollisionMap} by {@link #collide(MapSceneInterface)}, a bullet which hits solid terrain or leaves
+ * the map is recycled. platforms do not stop bullets.
+ * </p>
+ * <p>
+ * the sprite draws every bullet in view with its image from assets/bullet, flipped when moving left.
+ * bullet images are looked up in the atlas on first draw so the pool can be used headless.
+ * </p>
+ */
+public class ProjectilePool extends GenericEntity{
+
+	private final EntityStore store;
+	/**
+	 * bullet type of each id, moved along with the store on recycle.
+	 */
+	private final byte[] types;
+	private final double scale;
+	private final Random random = new Random( 1);
+	private Region[] regions;
+	private long fired, recycled, dropped;
+	private int stress;
+	private double stressSpeed;
+
+	/**
+	 * @param capacity - most bullets alive at the same time, {@link #fire(double, double, double, double, int)} fails when full.
+	 * @param scale - multiplier for the size of bullet images.
+	 */
+	public ProjectilePool( int capacity, double scale){
+		this.store = new EntityStore( capacity);
+		this.types = new byte[capacity];
+		this.scale = scale;
+		sprite = new Sprite(){
+
+			@Override
+			public void draw( GraphicsContext gc){
+				for( int i = 0; i < store.size(); i++)
+					drawBullet( gc, i);
+			}
+
+			@Override
+			public void draw( GraphicsContext gc, RectangleBounds view){
+				for( int i = 0; i < store.size(); i++){
+					if( store.intersects( i, view.x(), view.y(), view.w(), view.h()))
+						drawBullet( gc, i);
+				}
+			}
+		};
+	}
+
+	private void drawBullet( GraphicsContext gc, int id){
+		drawBullet( gc, types[id], store.x( id), store.y( id), store.w( id), store.h( id), store.vx( id) < 0);
+	}
+
+	/**
+	 * draw one bullet, used to draw bullets copied out of the pool.
+	 * @param gc - context to draw on.
+	 * @param type - image of the bullet, see {@link #getType(int)}.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @param left - true if moving left, the image is flipped.
+	 */
+	public void drawBullet( GraphicsContext gc, int type, double x, double y, double w, double h, boolean left){
+		if( regions == null){
+			regions = new Region[Assets.bulletCount()];
+			for( int i = 0; i < regions.length; i++)
+				regions[i] = Assets.atlas().get( Assets.bullet( i));
+		}
+		// every bullet type is on the same atlas page, so drawing many bullets does not switch textures
+		Region r = regions[type];
+		if( left)
+			gc.drawImage( r.image(), r.x(), r.y(), r.w(), r.h(), x + w, y, -w, h);
+		else
+			gc.drawImage( r.image(), r.x(), r.y(), r.w(), r.h(), x, y, w, h);
+	}
+
+	/**
+	 * add a bullet centered on given point.
+	 * @param x - x coordinate of center.
+	 * @param y - y coordinate of center.
+	 * @param vx - distance moved in x each tick.
+	 * @param vy - distance moved in y each tick.
+	 * @param type - image of the bullet, from zero to {@link Assets#bulletCount()} - 1.
+	 * @return id of the bullet or -1 if the pool is full.
+	 */
+	public int fire( double x, double y, double vx, double vy, int type){
+		if( store.size() == types.length){
+			dropped++;
+			return -1;
+		}
+		double w = Assets.bulletWidth( type) * scale, h = Assets.bulletHeight( type) * scale;
+		int id = store.add( x - w / 2, y - h / 2, w, h);
+		store.setVelocity( id, vx, vy);
+		types[id] = (byte) type;
+		fired++;
+		return id;
+	}
+
+	/**
+	 * move every bullet by its velocity.
+	 */
+	public void move(){
+		store.integrate();
+	}
+
+	/**
+	 * recycle bullets which left the map or touch solid terrain, then refill to the stress count if one is set.
+	 * @param map - map with a background and collision map, see {@link MapSceneInterface#inMap(double, double, double, double)}.
+	 */
+	public void collide( MapSceneInterface map){
+		CollisionMap terrain = map.getCollisionMap();
+		// backwards so the bullet moved into a recycled id has already been checked
+		for( int i = store.size() - 1; i >= 0; i--){
+			double x = store.x( i), y = store.y( i), w = store.w( i), h = store.h( i);
+			if( !map.inMap( x, y, w, h) || (terrain != null && (terrain.query( x, y, w, h) & CollisionMap.SOLID) != 0))
+				recycle( i);
+		}
+		if( stress > 0)
+			fillTo( stress, map.getBackground().getHitBox().getBounds(), stressSpeed);
+	}
+
+	/**
+	 * keep given number of bullets alive by refilling with {@link #fillTo(int, RectangleBounds, double)} after each collide.
+	 * @param live - number of bullets to keep alive, zero to stop.
+	 * @param speed - distance moved by each refilled bullet per tick.
+	 * @return current instance of this class.
+	 */
+	public ProjectilePool setStress( int live, double speed){
+		this.stress = live;
+		this.stressSpeed = speed;
+		return this;
+	}
+
+	private void recycle( int id){
+		types[id] = types[store.size() - 1];
+		store.remove( id);
+		recycled++;
+	}
+
+	/**
+	 * fire bullets at random points of the map in random directions until given number are alive.
+	 * used to stress test the pool.
+	 * @param live - number of bullets to keep alive, capped at capacity.
+	 * @param bounds - area to fire in, usually bounds of the background.
+	 * @param speed - distance moved by each bullet per tick.
+	 */
+	public void fillTo( int live, RectangleBounds bounds, double speed){
+		live = Math.min( live, types.length);
+		while( store.size() < live){
+			double angle = random.nextDouble() * Math.PI * 2;
+			fire( bounds.x() + random.nextDouble() * bounds.w(), bounds.y() + random.nextDouble() * bounds.h(),
+					Math.cos( angle) * speed, Math.sin( angle) * speed, random.nextInt( Assets.bulletCount()));
+		}
+	}
+
+	/**
+	 * recycle every bullet.
+	 */
+	public void clear(){
+		recycled += store.size();
+		store.clear();
+		Arrays.fill( types, (byte) 0);
+	}
+
+	/**
+	 * @return number of live bullets.
+	 */
+	public int size(){
+		return store.size();
+	}
+
+	/**
+	 * @return most bullets alive at the same time.
+	 */
+	public int capacity(){
+		return types.length;
+	}
+
+	/**
+	 * @param id - id of a live bullet in {@link #getStore()}.
+	 * @return image of the bullet, from zero to {@link Assets#bulletCount()} - 1.
+	 */
+	public int getType( int id){
+		return types[id];
+	}
+
+	/**
+	 * @return bounds and velocity of live bullets, ids change when bullets are recycled.
+	 */
+	public EntityStore getStore(){
+		return store;
+	}
+
+	public long getFired(){
+		return fired;
+	}
+
+	public long getRecycled(){
+		return recycled;
+	}
+
+	/**
+	 * @return number of shots which failed because the pool was full.
+	 */
+	public long getDropped(){
+		return dropped;
+	}
+}
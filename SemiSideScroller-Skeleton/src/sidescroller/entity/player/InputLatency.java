@@ -0,0 +1,148 @@
+package sidescroller.entity.player;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import sidescroller.jfr.InputLatencyEvent;
+import utility.Histogram;
+
+/**
+ * <p>
+ * delay between an input event and the frame which first shows its effect. every event applied by
+ * {@link PlayerInput#drain()} is reported to {@link #consumed(long, long)} with its time stamp, which records
+ * the event to update delay and keeps the event pending. the simulation copies pending events into each
+ * world snapshot with {@link #capture(Pending)}, and once a snapshot is drawn {@link #drawn(Pending, long)}
+ * records the event to draw delay of every event in it not yet drawn and commits an {@link InputLatencyEvent}
+ * with both delays.
+ * </p>
+ * <p>
+ * consumed and capture are called by the simulation thread, drawn by the render thread, which may be the same.
+ * a pending event stays in every snapshot until one holding it is drawn, so skipped snapshots lose nothing.
+ * drawn is the time the frame was handed to JavaFX, the display still needs the render pass and vsync.
+ * recording does not allocate.
+ * </p>
+ */
+public class InputLatency{
+
+	/**
+	 * most events waiting for a draw, more than this are only counted in {@link #getToUpdate()}.
+	 */
+	public static final int PENDING = 256;
+	private static final int MASK = PENDING - 1;
+	private static final double ONE_MILLISECOND = 1000000D;
+
+	/**
+	 * events consumed by one tick and not yet drawn, copied into a world snapshot.
+	 */
+	public static class Pending{
+
+		private long from;
+		private int count;
+		private final long[] times = new long[PENDING];
+		private final long[] updates = new long[PENDING];
+
+		/**
+		 * @return number of events.
+		 */
+		public int count(){
+			return count;
+		}
+	}
+
+	private final Histogram toUpdate = new Histogram();
+	private final Histogram toDraw = new Histogram();
+	private final long[] pending = new long[PENDING];
+	private final long[] pendingUpdates = new long[PENDING];
+	/**
+	 * sequence of the next consumed event, only used by the simulation thread.
+	 */
+	private long consumedSeq;
+	/**
+	 * every event below this sequence is drawn, written by the render thread.
+	 */
+	private final AtomicLong drawnSeq = new AtomicLong();
+
+	/**
+	 * an event was applied by the simulation.
+	 * @param eventTime - {@link System#nanoTime()} of the event.
+	 * @param now - {@link System#nanoTime()} of the update consuming it.
+	 */
+	public void consumed( long eventTime, long now){
+		toUpdate.record( now - eventTime);
+		if( consumedSeq - drawnSeq.get() < PENDING){
+			pending[(int) consumedSeq & MASK] = eventTime;
+			pendingUpdates[(int) consumedSeq++ & MASK] = now;
+		}
+	}
+
+	/**
+	 * copy events not yet drawn, called by the simulation thread after a tick.
+	 * @param into - copy to fill.
+	 */
+	public void capture( Pending into){
+		long from = drawnSeq.get();
+		into.from = from;
+		into.count = (int) (consumedSeq - from);
+		for( int i = 0; i < into.count; i++){
+			into.times[i] = pending[(int) (from + i) & MASK];
+			into.updates[i] = pendingUpdates[(int) (from + i) & MASK];
+		}
+	}
+
+	/**
+	 * a frame holding given events finished drawing, called by the render thread.
+	 * @param drawn - events copied by {@link #capture(Pending)} into the drawn snapshot.
+	 * @param now - {@link System#nanoTime()} after drawEntities.
+	 */
+	public void drawn( Pending drawn, long now){
+		long recorded = drawnSeq.get();
+		long end = drawn.from + drawn.count;
+		for( long seq = Math.max( recorded, drawn.from); seq < end; seq++){
+			int i = (int) (seq - drawn.from);
+			toDraw.record( now - drawn.times[i]);
+			InputLatencyEvent event = new InputLatencyEvent();
+			if( event.shouldCommit())
+				event.setLatency( drawn.updates[i] - drawn.times[i], now - drawn.times[i]).commit();
+		}
+		if( end > recorded)
+			drawnSeq.lazySet( end);
+	}
+
+	/**
+	 * forget all recorded delays, only safe while the simulation is not running.
+	 */
+	public void reset(){
+		toUpdate.reset();
+		toDraw.reset();
+		drawnSeq.set( consumedSeq);
+	}
+
+	/**
+	 * @return nanoseconds from event to the update which applied it. do not modify while running.
+	 */
+	public Histogram getToUpdate(){
+		return toUpdate;
+	}
+
+	/**
+	 * @return nanoseconds from event to the end of the first draw after it was applied. do not modify.
+	 */
+	public Histogram getToDraw(){
+		return toDraw;
+	}
+
+	/**
+	 * @return p50, p95, p99 and max of both delays in milliseconds.
+	 */
+	public String report(){
+		return String.format( "input to update: %s%ninput to draw:   %s%n", line( toUpdate), line( toDraw));
+	}
+
+	private static String line( Histogram h){
+		return String.format( "events %d, p50 %.2f, p95 %.2f, p99 %.2f, max %.2f ms", h.count(), ms( h.percentile( 50)),
+				ms( h.percentile( 95)), ms( h.percentile( 99)), ms( h.max()));
+	}
+
+	private static double ms( long nanos){
+		return nanos / ONE_MILLISECOND;
+	}
+}
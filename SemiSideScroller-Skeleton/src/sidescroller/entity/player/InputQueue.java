@@ -0,0 +1,157 @@
+package sidescroller.entity.player;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * a bounded ring of input events for one producer, the JavaFX thread, and one consumer, the simulation tick.
+ * each event is a type, a code, a mouse position and a {@link System#nanoTime()} time stamp kept in parallel
+ * arrays, so neither side allocates or locks. the producer publishes a slot by moving the tail after writing it,
+ * the consumer frees a slot by moving the head after reading it.
+ * </p>
+ * <p>
+ * when the ring is full {@link #offer(int, int, double, double, long)} drops the event and counts it,
+ * the producer must never wait for the tick.
+ * </p>
+ * <pre>
+ * while( queue.poll())
+ * 	apply( queue.type(), queue.code(), queue.x(), queue.y(), queue.time());
+ * </pre>
+ */
+public class InputQueue{
+
+	public static final int KEY_PRESSED = 0;
+	public static final int KEY_RELEASED = 1;
+	public static final int MOUSE_PRESSED = 2;
+	public static final int MOUSE_RELEASED = 3;
+	public static final int MOUSE_MOVED = 4;
+
+	private final int mask;
+	private final long[] times;
+	private final int[] types, codes;
+	private final double[] xs, ys;
+	/**
+	 * next slot to read, only moved by the consumer.
+	 */
+	private final AtomicLong head = new AtomicLong();
+	/**
+	 * next slot to write, only moved by the producer.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	/**
+	 * producer copy of head, read again only when the ring looks full.
+	 */
+	private long cachedHead;
+	private int type, code;
+	private double x, y;
+	private long time;
+
+	/**
+	 * @param capacity - most events waiting at the same time, rounded up to a power of two.
+	 */
+	public InputQueue( int capacity){
+		int size = Integer.highestOneBit( Math.max( 2, capacity) - 1) << 1;
+		mask = size - 1;
+		times = new long[size];
+		types = new int[size];
+		codes = new int[size];
+		xs = new double[size];
+		ys = new double[size];
+	}
+
+	/**
+	 * add an event, called only from the producer thread.
+	 * @param type - one of {@link #KEY_PRESSED}, {@link #KEY_RELEASED}, {@link #MOUSE_PRESSED},
+	 * {@link #MOUSE_RELEASED} or {@link #MOUSE_MOVED}.
+	 * @param code - key or mouse buttons of the event.
+	 * @param x - x position of mouse.
+	 * @param y - y position of mouse.
+	 * @param time - {@link System#nanoTime()} of the event.
+	 * @return false if the ring was full and the event is dropped.
+	 */
+	public boolean offer( int type, int code, double x, double y, long time){
+		long t = tail.get();
+		if( t - cachedHead > mask){
+			cachedHead = head.get();
+			if( t - cachedHead > mask){
+				dropped.incrementAndGet();
+				return false;
+			}
+		}
+		int slot = (int) t & mask;
+		types[slot] = type;
+		codes[slot] = code;
+		xs[slot] = x;
+		ys[slot] = y;
+		times[slot] = time;
+		tail.lazySet( t + 1);
+		return true;
+	}
+
+	/**
+	 * move the oldest event into {@link #type()}, {@link #code()}, {@link #x()}, {@link #y()} and {@link #time()},
+	 * called only from the consumer thread.
+	 * @return false if there was no event.
+	 */
+	public boolean poll(){
+		long h = head.get();
+		if( h == tail.get())
+			return false;
+		int slot = (int) h & mask;
+		type = types[slot];
+		code = codes[slot];
+		x = xs[slot];
+		y = ys[slot];
+		time = times[slot];
+		head.lazySet( h + 1);
+		return true;
+	}
+
+	/**
+	 * @return type of the last polled event.
+	 */
+	public int type(){
+		return type;
+	}
+
+	/**
+	 * @return code of the last polled event.
+	 */
+	public int code(){
+		return code;
+	}
+
+	public double x(){
+		return x;
+	}
+
+	public double y(){
+		return y;
+	}
+
+	/**
+	 * @return {@link System#nanoTime()} of the last polled event.
+	 */
+	public long time(){
+		return time;
+	}
+
+	/**
+	 * @return number of events waiting, may be stale by the time it returns.
+	 */
+	public int size(){
+		return (int) (tail.get() - head.get());
+	}
+
+	public int capacity(){
+		return mask + 1;
+	}
+
+	/**
+	 * @return number of events dropped because the ring was full.
+	 */
+	public long getDropped(){
+		return dropped.get();
+	}
+}
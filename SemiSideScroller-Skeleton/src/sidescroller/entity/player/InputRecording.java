@@ -0,0 +1,203 @@
+package sidescroller.entity.player;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * the input state seen by each simulation tick, keys and mouse buttons as the bits of {@link PlayerInput#getState()}
+ * and the mouse position. a {@link PlayerInput} given a recording with {@link PlayerInput#setRecording(InputRecording)}
+ * adds one tick per {@link PlayerInput#drain()}, one given it with {@link PlayerInput#setReplay(InputRecording)}
+ * reads one tick per drain instead of its events. replaying against a fresh map gives the same simulation.
+ * </p>
+ * <p>
+ * {@link #save(Path)} writes runs of identical ticks, so holding a key for a minute is one entry:
+ * </p>
+ * <pre>
+ * int magic, short version, int ticks, int runs
+ * runs * ( int length, short state, double x, double y)
+ * </pre>
+ */
+public class InputRecording{
+
+	private static final int MAGIC = 0x53534952;
+	private static final short VERSION = 1;
+
+	private int[] states;
+	private double[] xs, ys;
+	private int ticks;
+	private int cursor;
+	private int state;
+	private double x, y;
+
+	public InputRecording(){
+		this( 1024);
+	}
+
+	/**
+	 * @param capacity - initial number of ticks, grows when full.
+	 */
+	public InputRecording( int capacity){
+		capacity = Math.max( 1, capacity);
+		states = new int[capacity];
+		xs = new double[capacity];
+		ys = new double[capacity];
+	}
+
+	/**
+	 * a copy of the ticks of other with its own position.
+	 * @param other - recording to replay.
+	 */
+	public InputRecording( InputRecording other){
+		states = Arrays.copyOf( other.states, Math.max( 1, other.ticks));
+		xs = Arrays.copyOf( other.xs, states.length);
+		ys = Arrays.copyOf( other.ys, states.length);
+		ticks = other.ticks;
+	}
+
+	/**
+	 * add the state seen by one tick.
+	 * @param state - keys and buttons, see {@link PlayerInput#getState()}.
+	 * @param x - x position of mouse.
+	 * @param y - y position of mouse.
+	 */
+	public void record( int state, double x, double y){
+		if( ticks == states.length){
+			states = Arrays.copyOf( states, ticks * 2);
+			xs = Arrays.copyOf( xs, ticks * 2);
+			ys = Arrays.copyOf( ys, ticks * 2);
+		}
+		states[ticks] = state;
+		xs[ticks] = x;
+		ys[ticks] = y;
+		ticks++;
+	}
+
+	/**
+	 * @return true if {@link #next()} has a tick left to replay.
+	 */
+	public boolean hasNext(){
+		return cursor < ticks;
+	}
+
+	/**
+	 * move to the next tick, read it with {@link #state()}, {@link #x()} and {@link #y()}.
+	 * after the last tick everything is released and the mouse stays where it was.
+	 */
+	public void next(){
+		if( cursor < ticks){
+			state = states[cursor];
+			x = xs[cursor];
+			y = ys[cursor];
+			cursor++;
+		}else{
+			state = 0;
+		}
+	}
+
+	/**
+	 * replay from the first tick.
+	 */
+	public void rewind(){
+		cursor = 0;
+		state = 0;
+		x = y = 0;
+	}
+
+	public int state(){
+		return state;
+	}
+
+	public double x(){
+		return x;
+	}
+
+	public double y(){
+		return y;
+	}
+
+	/**
+	 * @return number of recorded ticks.
+	 */
+	public int ticks(){
+		return ticks;
+	}
+
+	/**
+	 * @return number of ticks replayed so far.
+	 */
+	public int position(){
+		return cursor;
+	}
+
+	/**
+	 * @param path - file to write, replaced if it exists.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void save( Path path) throws IOException{
+		try( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( path)))){
+			out.writeInt( MAGIC);
+			out.writeShort( VERSION);
+			out.writeInt( ticks);
+			out.writeInt( runs());
+			for( int i = 0; i < ticks;){
+				int end = i + 1;
+				while( end < ticks && same( i, end))
+					end++;
+				out.writeInt( end - i);
+				out.writeShort( states[i]);
+				out.writeDouble( xs[i]);
+				out.writeDouble( ys[i]);
+				i = end;
+			}
+		}
+	}
+
+	/**
+	 * @param path - file written by {@link #save(Path)}.
+	 * @return recording positioned at the first tick.
+	 * @throws IOException if the file cannot be read or is not a recording.
+	 */
+	public static InputRecording load( Path path) throws IOException{
+		try( DataInputStream in = new DataInputStream( new BufferedInputStream( Files.newInputStream( path)))){
+			if( in.readInt() != MAGIC)
+				throw new IOException( path + " is not an input recording");
+			short version = in.readShort();
+			if( version != VERSION)
+				throw new IOException( path + " has unsupported version " + version);
+			int ticks = in.readInt();
+			int runs = in.readInt();
+			InputRecording recording = new InputRecording( ticks);
+			for( int r = 0; r < runs; r++){
+				int length = in.readInt();
+				int state = in.readShort();
+				double x = in.readDouble();
+				double y = in.readDouble();
+				for( int i = 0; i < length; i++)
+					recording.record( state, x, y);
+			}
+			if( recording.ticks() != ticks)
+				throw new IOException( path + " is truncated, expected " + ticks + " ticks but found " + recording.ticks());
+			return recording;
+		}
+	}
+
+	private int runs(){
+		int runs = 0;
+		for( int i = 0; i < ticks; i++){
+			if( i == 0 || !same( i - 1, i))
+				runs++;
+		}
+		return runs;
+	}
+
+	private boolean same( int a, int b){
+		return states[a] == states[b] && Double.compare( xs[a], xs[b]) == 0 && Double.compare( ys[a], ys[b]) == 0;
+	}
+}
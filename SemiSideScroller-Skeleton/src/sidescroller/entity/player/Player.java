@@ -1,7 +1,9 @@
 package sidescroller.entity.player;
 
+import utility.RectangleBounds;
 import utility.Tuple;
 import sidescroller.entity.GenericEntity;
+import sidescroller.entity.ProjectilePool;
 import sidescroller.entity.sprite.PlayerSprite;
 import sidescroller.entity.sprite.tile.Samurai;
 
@@ -13,8 +15,16 @@ public class Player extends GenericEntity{
 	private Tuple currentPos;
 	private PlayerInput playerInput;
 
+	private static final int FIRE_COOLDOWN = 10;
+	private static final double BULLET_SPEED = 10;
+
 	private double gravity = MAX_GRAVITY;
 	private double jumpSpeed = 0;
+	private ProjectilePool projectiles;
+	private int facing = -1;
+	private int cooldown;
+	private Samurai tile;
+	private long animationTicks;
 
 	public Player( double x, double y, double w, double h, PlayerSprite sprite){
 		// size of the player sprite is 20x20. hitbox is reduced to 16x16. everything is scaled up by 2,
@@ -22,21 +32,82 @@ public class Player extends GenericEntity{
 		// to add these specific minor adjustments here.
 		super( sprite, new PlayerHitBox().setBounds( (x - w / 2) + 8, (y - h / 2) + 8, w - 8, h - 8));
 		currentPos = Tuple.pair( x - w / 2, y - h / 2);
+		// sprite is null when running headless, see MapSceneInterface#createHeadlessScene.
+		// the sprite has its own coordinate and is only changed by pose, so it can be drawn on another thread.
 		playerSprite = sprite;
-		playerSprite.setCoord( currentPos);
-		playerSprite.setTile( Samurai.IDLE);
-		playerSprite.setLeft( true);
+		if( playerSprite != null){
+			playerSprite.setCoord( Tuple.pair( currentPos.x(), currentPos.y()));
+			playerSprite.setLeft( true);
+		}
+		setTile( Samurai.IDLE);
 	}
 
 	public Player setInput( PlayerInput input){
 		this.playerInput = input;
-		// aside from the preset config in PlayerInput, also register events for mouse and key
-		// release to set the player animation to idle.
-		input.getAdapter().registerKey( null, key -> playerSprite.setTile( Samurai.IDLE));
-		input.getAdapter().registerMouseClick( null, key -> playerSprite.setTile( Samurai.IDLE));
+		// releasing a key or mouse button sets the animation to idle, see PlayerInput#released in update.
+		return this;
+	}
+
+	/**
+	 * @param projectiles - pool to fire bullets into when right clicked, null to never fire.
+	 * @return the current instance of this object
+	 */
+	public Player setProjectiles( ProjectilePool projectiles){
+		this.projectiles = projectiles;
 		return this;
 	}
 
+	/**
+	 * @return top left corner of the player sprite.
+	 */
+	public Tuple getPosition(){
+		return currentPos;
+	}
+
+	private void setTile( Samurai tile){
+		this.tile = tile;
+	}
+
+	/**
+	 * @return current animation of the player.
+	 */
+	public Samurai getTile(){
+		return tile;
+	}
+
+	/**
+	 * @return number of ticks the current animation has been playing, zero on the tick it started.
+	 */
+	public long getAnimationTicks(){
+		return animationTicks;
+	}
+
+	/**
+	 * @return true if the player faces left.
+	 */
+	public boolean isFacingLeft(){
+		return facing < 0;
+	}
+
+	/**
+	 * move the sprite to given state, which can be a copy taken after any tick.
+	 * @param x - x coordinate of top left corner of the sprite.
+	 * @param y - y coordinate of top left corner of the sprite.
+	 * @param tile - animation to show.
+	 * @param left - true if facing left.
+	 * @param ticks - number of ticks the animation has been playing, see {@link #getAnimationTicks()}.
+	 * @return the sprite ready to draw, null if running headless.
+	 */
+	public PlayerSprite pose( double x, double y, Samurai tile, boolean left, long ticks){
+		if( playerSprite != null){
+			playerSprite.getCoord().set( x, y);
+			playerSprite.setTile( tile);
+			playerSprite.setLeft( left);
+			playerSprite.setTicks( ticks);
+		}
+		return playerSprite;
+	}
+
 	public void stepBack(){
 		// this method is called when when player has made an invalid move.
 		// simply step back to last valid position that was recorded.
@@ -51,18 +122,30 @@ public class Player extends GenericEntity{
 	@Override
 	public void update(){
 		double x, y;
+		Samurai before = tile;
+		playerInput.drain();
+		if( playerInput.released()){
+			setTile( Samurai.IDLE);
+		}
 		if( playerInput.hasMoved()){
-			playerSprite.setTile( Samurai.RUN);
+			setTile( Samurai.RUN);
 			if( playerInput.leftOrRight() != 0){
-				playerSprite.setLeft( playerInput.leftOrRight() < 1);
+				facing = playerInput.leftOrRight();
 			}
 		}
 		if( playerInput.leftClicked()){
-			playerSprite.setTile( Samurai.SWORD);
+			setTile( Samurai.SWORD);
+		}
+		if( cooldown > 0){
+			cooldown--;
+		}else if( playerInput.rightClicked() && projectiles != null){
+			RectangleBounds b = hitbox.getBounds();
+			projectiles.fire( b.centerX() + facing * b.w() / 2, b.centerY(), facing * BULLET_SPEED, 0, 0);
+			cooldown = FIRE_COOLDOWN;
 		}
 		if( playerInput.isSpace() || jumpSpeed > 0){
 			if( jumpSpeed == 0){
-				playerSprite.setTile( Samurai.JUMP);
+				setTile( Samurai.JUMP);
 				jumpSpeed = 15;
 			}
 			jumpSpeed -= 1;
@@ -81,5 +164,7 @@ public class Player extends GenericEntity{
 		currentPos.translate( x, y);
 		hitbox.translate( x, y);
 		gravity = MAX_GRAVITY;
+		// animations restart when changed, frames are picked from ticks so they play at the same speed at any fps
+		animationTicks = tile == before ? animationTicks + 1 : 0;
 	}
 }
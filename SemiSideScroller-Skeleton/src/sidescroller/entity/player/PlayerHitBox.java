@@ -1,70 +1,119 @@
 package sidescroller.entity.player;
 
-import java.util.EnumMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import sidescroller.entity.property.HitBox;
 import sidescroller.entity.property.Sprite;
+import utility.RectangleBounds;
 
+/**
+ * hitbox of the player with four thin probes along its edges, used to find which sides hit a shape.
+ * probes are derived from the bounds on every check and hit sides are kept in an int bit mask,
+ * nothing is allocated while checking or moving.
+ */
 public class PlayerHitBox extends HitBox{
 
 	public enum Direction{
 		TOP, BOTTOM, LEFT, RIGHT;
+
+		/**
+		 * @return bit of this direction in {@link PlayerHitBox#getDirectionMask()}.
+		 */
+		public int mask(){
+			return 1 << ordinal();
+		}
+	}
+
+	private static final int TOP = Direction.TOP.mask();
+	private static final int BOTTOM = Direction.BOTTOM.mask();
+	private static final int LEFT = Direction.LEFT.mask();
+	private static final int RIGHT = Direction.RIGHT.mask();
+	private static final int VERTICAL = TOP | BOTTOM;
+	private static final int HORIZONTAL = LEFT | RIGHT;
+	private static final int ALL = VERTICAL | HORIZONTAL;
+
+	/**
+	 * distance of probes from the corners and thickness of each probe.
+	 */
+	private static final double INSET = 4;
+	private static final double THICKNESS = 1;
+
+	/**
+	 * list of directions for every possible mask, shared so {@link #getIntersectDirection()} does not allocate.
+	 */
+	private static final List< List< Direction>> DIRECTION_LISTS;
+
+	static{
+		List< List< Direction>> lists = new ArrayList<>( ALL + 1);
+		for( int mask = 0; mask <= ALL; mask++){
+			List< Direction> list = new ArrayList<>( 4);
+			for( Direction d : Direction.values()){
+				if( (mask & d.mask()) != 0)
+					list.add( d);
+			}
+			lists.add( Collections.unmodifiableList( list));
+		}
+		DIRECTION_LISTS = Collections.unmodifiableList( lists);
 	}
 
-	private Map< Direction, HitBox> hitboxes;
-	private List< Direction> directions;
+	private int directions;
+	private final Paint[] strokes = new Paint[4];
 
 	public PlayerHitBox(){
-		hitboxes = new EnumMap<>( Direction.class);
-		directions = new LinkedList<>();
 		sprite = new Sprite(){
 
 			@Override
 			public void draw( GraphicsContext gc){
-				hitboxes.values().forEach( hb -> hb.getDrawable().draw( gc));
+				if( bounds == null)
+					return;
+				double x = bounds.x(), y = bounds.y(), w = bounds.w(), h = bounds.h();
+				gc.setLineWidth( getWidth());
+				gc.setStroke( strokes[Direction.TOP.ordinal()]);
+				gc.strokeRect( x + INSET, y, w - 2 * INSET, THICKNESS);
+				gc.setStroke( strokes[Direction.BOTTOM.ordinal()]);
+				gc.strokeRect( x + INSET, y + h - THICKNESS, w - 2 * INSET, THICKNESS);
+				gc.setStroke( strokes[Direction.LEFT.ordinal()]);
+				gc.strokeRect( x, y + INSET, THICKNESS, h - 2 * INSET);
+				gc.setStroke( strokes[Direction.RIGHT.ordinal()]);
+				gc.strokeRect( x + w - THICKNESS, y + INSET, THICKNESS, h - 2 * INSET);
 			}
 
 			@Override
 			public Sprite setStroke( Paint color){
 				super.setStroke( color);
-				if( directions.isEmpty())
-					hitboxes.values().forEach( hb -> hb.getDrawable().setStroke( color));
-				else
-					directions.forEach( d -> hitboxes.get( d).getDrawable().setStroke( color));
+				// only the probes that hit change color, unless nothing was hit
+				for( int i = 0; i < strokes.length; i++){
+					if( directions == 0 || (directions & (1 << i)) != 0)
+						strokes[i] = color;
+				}
 				return this;
 			}
 		};
-	}
-
-	@Override
-	public HitBox setBounds( double x, double y, double w, double h){
-		super.setBounds( x, y, w, h);
-		hitboxes.put( Direction.TOP, HitBox.build( x + 4, y, w - 8, 1));
-		hitboxes.put( Direction.RIGHT, HitBox.build( x + w - 1, y + 4, 1, h - 8));
-		hitboxes.put( Direction.BOTTOM, HitBox.build( x + 4, y + h - 1, w - 8, 1));
-		hitboxes.put( Direction.LEFT, HitBox.build( x, y + 4, 1, h - 8));
-		return this;
+		sprite.setStroke( Color.RED).setWidth( 3);
 	}
 
 	@Override
 	public HitBox translate( double dx, double dy){
+		// a new move, directions of the last collision no longer apply
+		directions = 0;
 		super.translate( dx, dy);
-		hitboxes.values().forEach( hb -> hb.translate( dx, dy));
 		return this;
 	}
 
 	@Override
 	public HitBox undoTranslate(){
-		if( directions.isEmpty()){
+		if( directions == 0){
 			super.undoTranslate();
-			hitboxes.values().forEach( HitBox::undoTranslate);
 		}else{
-			directions.forEach( this::undoTranslate);
+			if( (directions & VERTICAL) != 0)
+				undoTranslate( Direction.TOP);
+			if( (directions & HORIZONTAL) != 0)
+				undoTranslate( Direction.LEFT);
 		}
 		return this;
 	}
@@ -72,33 +121,58 @@ public class PlayerHitBox extends HitBox{
 	public HitBox undoTranslate( Direction d){
 		if( d == Direction.BOTTOM || d == Direction.TOP){
 			bounds.moveY( prev.y());
-			hitboxes.values().forEach( hb -> hb.getBounds().moveY( hb.getPrev().y()));
 		}else if( d == Direction.LEFT || d == Direction.RIGHT){
 			bounds.moveX( prev.x());
-			hitboxes.values().forEach( hb -> hb.getBounds().moveX( hb.getPrev().x()));
 		}
 		return this;
 	}
 
 	@Override
 	public boolean intersectBounds( HitBox hitbox){
-		if( !bounds.intersects( hitbox.getBounds())){
-			directions.clear();
+		RectangleBounds other = hitbox.getBounds();
+		return intersectBounds( other.x(), other.y(), other.w(), other.h());
+	}
+
+	@Override
+	public boolean intersectBounds( double ox, double oy, double ow, double oh){
+		if( !bounds.intersects( ox, oy, ow, oh)){
+			directions = 0;
 			return false;
 		}
-		hitboxes.entrySet().forEach( en -> {
-			if( en.getValue().intersectBounds( hitbox)){
-				directions.add( en.getKey());
-			}
-		});
+		double x = bounds.x(), y = bounds.y(), w = bounds.w(), h = bounds.h();
+		if( overlaps( ox, oy, ow, oh, x + INSET, y, w - 2 * INSET, THICKNESS))
+			directions |= TOP;
+		if( overlaps( ox, oy, ow, oh, x + INSET, y + h - THICKNESS, w - 2 * INSET, THICKNESS))
+			directions |= BOTTOM;
+		if( overlaps( ox, oy, ow, oh, x, y + INSET, THICKNESS, h - 2 * INSET))
+			directions |= LEFT;
+		if( overlaps( ox, oy, ow, oh, x + w - THICKNESS, y + INSET, THICKNESS, h - 2 * INSET))
+			directions |= RIGHT;
 		return true;
 	}
 
-	public List< Direction> getIntersectDirection(){
+	/**
+	 * same check as {@link RectangleBounds#intersects(double, double, double, double)} without an object.
+	 */
+	private static boolean overlaps( double ax, double ay, double aw, double ah, double x, double y, double w, double h){
+		return !(x > ax + aw || y > ay + ah || ax > x + w || ay > y + h);
+	}
+
+	/**
+	 * @return bits of {@link Direction#mask()} for every side that hit since the last move.
+	 */
+	public int getDirectionMask(){
 		return directions;
 	}
 
+	/**
+	 * @return unmodifiable list of sides that hit since the last move, in {@link Direction} order.
+	 */
+	public List< Direction> getIntersectDirection(){
+		return DIRECTION_LISTS.get( directions);
+	}
+
 	public boolean isDirection( Direction d){
-		return directions.contains( d);
+		return (directions & d.mask()) != 0;
 	}
 }
@@ -7,40 +7,188 @@ import utility.InputAdapter;
 
 public class PlayerInput{
 
+	private static final int LEFT = 1, RIGHT = 1 << 1, UP = 1 << 2, DOWN = 1 << 3, SPACE = 1 << 4, SHIFT = 1 << 5;
+	private static final int LEFT_CLICK = 1 << 6, RIGHT_CLICK = 1 << 7, MIDDLE_CLICK = 1 << 8;
+	private static final int MOUSE = LEFT_CLICK | RIGHT_CLICK | MIDDLE_CLICK;
+	/**
+	 * set for the tick that applied a key or mouse release, never held.
+	 */
+	private static final int RELEASED = 1 << 9;
+	/**
+	 * most events waiting between two ticks. a 1000hz mouse fills it in about 0.26 seconds, roughly 15 ticks
+	 * at 60 ticks per second, so only a stalled simulation drops events.
+	 */
+	private static final int QUEUE_CAPACITY = 256;
+
 	private double x, y;
-	private boolean left = false, right = false, up = false, down = false;
-	private boolean leftClick = false, rightClick = false, middleClick = false;
-	private boolean space = false, shift = false;
+	/**
+	 * keys and buttons down after the last applied event.
+	 */
+	private int held;
+	/**
+	 * keys and buttons seen by the current tick, held or pressed at any point since the previous drain.
+	 */
+	private int state;
 
 	private InputAdapter adapter;
+	private InputQueue queue;
+	private InputLatency latency;
+	private InputRecording recording, replay;
+	/**
+	 * {@link System#nanoTime()} of the oldest event applied by the last {@link #drain()} not yet seen by
+	 * {@link #consumeEventTime()}, zero if none.
+	 */
+	private long eventTime;
 
 	/**
 	 * create a player input using given input adapter. by default mouse movement, drag, press, and release
-	 * are registered. Keyboard press and released are also registered.
+	 * are registered. Keyboard press and released are also registered. events are queued with their time and
+	 * only change the state of this input when {@link #drain()} is called.
 	 * @param adapter - initialized instance of input adapter.
 	 */
 	public PlayerInput( InputAdapter adapter){
 		this.adapter = adapter;
+		this.queue = new InputQueue( QUEUE_CAPACITY);
 		adapter.forceFocusWhenMouseEnters();
 		adapter.registerMouseMovment( this::moved, this::moved);
 		adapter.registerMouseClick( this::mousePressed, this::mouseReleased);
 		adapter.registerKey( this::keyPressed, this::keyReleased);
 	}
 
+	/**
+	 * create a player input without any event registration. state can only be changed through
+	 * {@link #setKey(KeyCode, boolean)}, used for scripted and headless input.
+	 */
+	public PlayerInput(){
+	}
+
 	/**
 	 * get the instance of input adapter used in this class.
-	 * @return current instance of adapter.
+	 * @return current instance of adapter, null if input is scripted.
 	 */
 	public InputAdapter getAdapter(){
 		return adapter;
 	}
 
+	/**
+	 * @return queue of events waiting for {@link #drain()}, null if input is scripted.
+	 */
+	public InputQueue getQueue(){
+		return queue;
+	}
+
+	/**
+	 * @param latency - told about every event applied by {@link #drain()}, null to stop.
+	 * @return the current instance of this object
+	 */
+	public PlayerInput setLatency( InputLatency latency){
+		this.latency = latency;
+		return this;
+	}
+
+	/**
+	 * @param recording - gets the state seen by every tick after {@link #drain()}, null to stop.
+	 * @return the current instance of this object
+	 */
+	public PlayerInput setRecording( InputRecording recording){
+		this.recording = recording;
+		return this;
+	}
+
+	/**
+	 * @param replay - gives the state of every tick in {@link #drain()} instead of events and
+	 * {@link #setKey(KeyCode, boolean)}, null to stop.
+	 * @return the current instance of this object
+	 */
+	public PlayerInput setReplay( InputRecording replay){
+		this.replay = replay;
+		return this;
+	}
+
+	/**
+	 * @return keys and mouse buttons seen by the current tick, one bit each.
+	 */
+	public int getState(){
+		return state;
+	}
+
+	/**
+	 * <p>
+	 * apply every queued event in order, called once at the start of each simulation tick.
+	 * a key or button pressed and released between two ticks still counts as pressed for this tick.
+	 * </p>
+	 * <p>
+	 * scripted input is not changed. when replaying the next recorded tick is used and events are discarded.
+	 * when recording the resulting state is added to the recording.
+	 * </p>
+	 */
+	public void drain(){
+		if( replay != null){
+			while( queue != null && queue.poll())
+				;
+			replay.next();
+			state = replay.state();
+			held = state & ~RELEASED;
+			x = replay.x();
+			y = replay.y();
+		}else if( queue != null){
+			drainQueue();
+		}
+		if( recording != null)
+			recording.record( state, x, y);
+	}
+
+	private void drainQueue(){
+		int pressed = 0;
+		long first = 0;
+		long now = latency == null ? 0 : System.nanoTime();
+		while( queue.poll()){
+			switch( queue.type()){
+				case InputQueue.KEY_PRESSED:
+					held |= queue.code();
+					pressed |= queue.code();
+					break;
+				case InputQueue.KEY_RELEASED:
+					held &= ~queue.code();
+					pressed |= RELEASED;
+					break;
+				case InputQueue.MOUSE_PRESSED:
+					held = (held & ~MOUSE) | queue.code();
+					pressed |= queue.code();
+					x = queue.x();
+					y = queue.y();
+					break;
+				case InputQueue.MOUSE_RELEASED:
+					held &= ~MOUSE;
+					pressed |= RELEASED;
+					break;
+				case InputQueue.MOUSE_MOVED:
+					x = queue.x();
+					y = queue.y();
+					continue;
+				default:
+					continue;
+			}
+			if( first == 0)
+				first = queue.time();
+			if( latency != null)
+				latency.consumed( queue.time(), now);
+		}
+		state = held | pressed;
+		if( eventTime == 0)
+			eventTime = first;
+	}
+
+	private boolean is( int bit){
+		return (state & bit) != 0;
+	}
+
 	/**
 	 * return true if any of up, down, left, right or space are pressed.
 	 * @return true if a movement is registered.
 	 */
 	public boolean hasMoved(){
-		return left || right || up || down || space;
+		return is( LEFT | RIGHT | UP | DOWN | SPACE);
 	}
 
 	/**
@@ -48,9 +196,9 @@ public class PlayerInput{
 	 * @return if left -1, right +1 else zero.
 	 */
 	public int leftOrRight(){
-		if( !right && !left)
+		if( !is( RIGHT) && !is( LEFT))
 			return 0;
-		return right ? 1 : -1;
+		return is( RIGHT) ? 1 : -1;
 	}
 
 	/**
@@ -58,9 +206,9 @@ public class PlayerInput{
 	 * @return if up -1, down +1 else zero.
 	 */
 	public int upOrDown(){
-		if( !up && !down)
+		if( !is( UP) && !is( DOWN))
 			return 0;
-		return down ? 1 : -1;
+		return is( DOWN) ? 1 : -1;
 	}
 
 	/**
@@ -68,42 +216,49 @@ public class PlayerInput{
 	 * @return if down 1 else zero.
 	 */
 	public int down(){
-		return down ? 1 : 0;
+		return is( DOWN) ? 1 : 0;
 	}
 
 	/**
 	 * @return true if space is pressed
 	 */
 	public boolean isSpace(){
-		return space;
+		return is( SPACE);
 	}
 
 	/**
 	 * @return true if shift is pressed
 	 */
 	public boolean isShift(){
-		return shift;
+		return is( SHIFT);
+	}
+
+	/**
+	 * @return true if a key or mouse button was released since the previous tick
+	 */
+	public boolean released(){
+		return is( RELEASED);
 	}
 
 	/**
 	 * @return true if mouse is left clicked
 	 */
 	public boolean leftClicked(){
-		return leftClick;
+		return is( LEFT_CLICK);
 	}
 
 	/**
 	 * @return true if mouse is right clicked
 	 */
 	public boolean rightClicked(){
-		return rightClick;
+		return is( RIGHT_CLICK);
 	}
 
 	/**
 	 * @return true if mouse is middle clicked
 	 */
 	public boolean middleClicked(){
-		return middleClick;
+		return is( MIDDLE_CLICK);
 	}
 
 	/**
@@ -123,57 +278,77 @@ public class PlayerInput{
 	private void mousePressed( MouseEvent e){
 		// record the x and y position of the mouse
 		// record if any of the mouse keys have been pressed
-		this.x = e.getX();
-		this.y = e.getY();
-		leftClick = e.isPrimaryButtonDown();
-		rightClick = e.isSecondaryButtonDown();
-		middleClick = e.isMiddleButtonDown();
+		int buttons = (e.isPrimaryButtonDown() ? LEFT_CLICK : 0) | (e.isSecondaryButtonDown() ? RIGHT_CLICK : 0)
+				| (e.isMiddleButtonDown() ? MIDDLE_CLICK : 0);
+		queue.offer( InputQueue.MOUSE_PRESSED, buttons, e.getX(), e.getY(), System.nanoTime());
 	}
 
 	private void mouseReleased( MouseEvent e){
 		// set all mouse keys to false
-		rightClick = false;
-		leftClick = false;
-		middleClick = false;
+		queue.offer( InputQueue.MOUSE_RELEASED, 0, e.getX(), e.getY(), System.nanoTime());
+	}
+
+	/**
+	 * @return {@link System#nanoTime()} of the oldest input event applied since the last call, zero if there was none.
+	 */
+	public long consumeEventTime(){
+		long time = eventTime;
+		eventTime = 0;
+		return time;
+	}
+
+	/**
+	 * press or release a key without a {@link KeyEvent}, the change is seen immediately without {@link #drain()}.
+	 * @param key - key to change
+	 * @param isPressed - true if pressed, false if released
+	 * @return the current instance of this object
+	 */
+	public PlayerInput setKey( KeyCode key, boolean isPressed){
+		int bit = keyBit( key);
+		if( isPressed){
+			held |= bit;
+			state |= bit;
+		}else{
+			held &= ~bit;
+			state &= ~bit;
+		}
+		return this;
 	}
 
-	private void changeKeyStatus( KeyCode key, boolean isPressed){
-		//recored if a specific key was pressed
+	private static int keyBit( KeyCode key){
+		//recored which key was pressed
 		switch( key){
 			case W:
-				up = isPressed;
-				break;
+				return UP;
 			case A:
-				left = isPressed;
-				break;
+				return LEFT;
 			case S:
-				down = isPressed;
-				break;
+				return DOWN;
 			case D:
-				right = isPressed;
-				break;
+				return RIGHT;
 			case SHIFT:
-				shift = isPressed;
-				break;
+				return SHIFT;
 			case SPACE:
-				space = isPressed;
-				break;
+				return SPACE;
 			default:
-				break;
+				return 0;
 		}
 	}
 
 	private void keyPressed( KeyEvent key){
-		changeKeyStatus( key.getCode(), true);
+		int bit = keyBit( key.getCode());
+		if( bit != 0)
+			queue.offer( InputQueue.KEY_PRESSED, bit, 0, 0, System.nanoTime());
 	}
 
 	private void keyReleased( KeyEvent key){
-		changeKeyStatus( key.getCode(), false);
+		int bit = keyBit( key.getCode());
+		if( bit != 0)
+			queue.offer( InputQueue.KEY_RELEASED, bit, 0, 0, System.nanoTime());
 	}
 
 	private void moved( MouseEvent e){
 		// record the x and y position of the mouse
-		this.x = e.getX();
-		this.y = e.getY();
+		queue.offer( InputQueue.MOUSE_MOVED, 0, e.getX(), e.getY(), System.nanoTime());
 	}
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package sidescroller.entity.property;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.paint.Paint;
+import utility.RectangleBounds;
 import utility.Tuple;
 
 /**
@@ -97,4 +98,14 @@ public interface Drawable<T extends Sprite>{
 	 * @param gc - {@link GraphicsContext} object
 	 */
 	void draw( GraphicsContext gc);
-}
\ No newline at end of file
+
+	/**
+	 * draw the shape given the {@link GraphicsContext} only if it can be seen in view.
+	 * by default the shape is always drawn.
+	 * @param gc - {@link GraphicsContext} object, already translated to map coordinates.
+	 * @param view - visible area of the map.
+	 */
+	default void draw( GraphicsContext gc, RectangleBounds view){
+		draw( gc);
+	}
+}
@@ -67,6 +67,18 @@ public class HitBox extends GenericEntity{
 		return bounds.intersects( box.getBounds());
 	}
 
+	/**
+	 * same as {@link #intersectBounds(HitBox)} for a box given by its top left, width and height.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @return true if overlaps else false
+	 */
+	public boolean intersectBounds( double x, double y, double w, double h){
+		return bounds.intersects( x, y, w, h);
+	}
+
 	@Override
 	public boolean hasHitbox(){
 		return true;
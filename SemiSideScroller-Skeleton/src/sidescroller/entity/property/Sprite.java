@@ -1,12 +1,18 @@
 package sidescroller.entity.property;
 
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.paint.Paint;
+import sidescroller.jfr.AssetDecodeEvent;
+import utility.RectangleBounds;
 import utility.Tuple;
 
 /**
@@ -49,6 +55,16 @@ public abstract class Sprite implements Drawable< Sprite>{
 	protected double scale;
 	protected Tuple coord;
 	protected Tuple tileSize;
+	/**
+	 * distance of the trimmed snapshot from the top left of the area it was taken from.
+	 */
+	protected Tuple snapshotOffset = new Tuple();
+	/**
+	 * area covered by this sprite in map coordinates, null if unknown.
+	 */
+	protected RectangleBounds drawBounds;
+	private long snapshotBytes;
+	private long untrimmedBytes;
 	
 	/**
 	 * a quick method to initialize variables.
@@ -192,4 +208,119 @@ public abstract class Sprite implements Drawable< Sprite>{
 		// sp.setDepthBuffer( scene.isDepthBufferInternal());
 		return node.snapshot( sp, null);
 	}
+
+	/**
+	 * same as {@link #createSnapshot(Node)} but only the area from top left of node with given w and h
+	 * is taken, then the image is trimmed to its non transparent pixels. the top left of the trimmed image
+	 * relative to the area is stored in {@link #getSnapshotOffset()} and must be added when drawing.
+	 * @param node - JavaFX node to use for snapshot.
+	 * @param w - width of the area to snapshot, clamped to width of node.
+	 * @param h - height of the area to snapshot, clamped to height of node.
+	 * @return a {@link WritableImage} holding the trimmed snapshot of node.
+	 */
+	protected Image createSnapshot( Node node, double w, double h){
+		AssetDecodeEvent event = new AssetDecodeEvent();
+		event.begin();
+		Bounds nodeBounds = node.getLayoutBounds();
+		int width = Math.max( 1, (int) Math.ceil( Math.min( w, nodeBounds.getWidth())));
+		int height = Math.max( 1, (int) Math.ceil( Math.min( h, nodeBounds.getHeight())));
+		SnapshotParameters sp = new SnapshotParameters();
+		sp.setFill( Color.TRANSPARENT);
+		sp.setViewport( new Rectangle2D( 0, 0, width, height));
+		WritableImage image = node.snapshot( sp, new WritableImage( width, height));
+		untrimmedBytes += 4L * (long) nodeBounds.getWidth() * (long) nodeBounds.getHeight();
+		Image trimmed = trim( image);
+		snapshotBytes += 4L * (long) trimmed.getWidth() * (long) trimmed.getHeight();
+		event.end();
+		if( event.shouldCommit())
+			event.setImage( getClass().getSimpleName(), trimmed.getWidth(), trimmed.getHeight()).commit();
+		return trimmed;
+	}
+
+	/**
+	 * crop the image to the smallest rectangle holding all its non transparent pixels and store the
+	 * top left of that rectangle in {@link #snapshotOffset}.
+	 * @param image - image to trim.
+	 * @return the same image if nothing can be trimmed, otherwise a new cropped image.
+	 */
+	private Image trim( WritableImage image){
+		PixelReader reader = image.getPixelReader();
+		int w = (int) image.getWidth();
+		int h = (int) image.getHeight();
+		int top = 0, bottom = h - 1, left = 0, right = w - 1;
+		while( top <= bottom && isClear( reader, 0, top, w, 1))
+			top++;
+		if( top > bottom){
+			snapshotOffset.set( 0, 0);
+			return new WritableImage( 1, 1);
+		}
+		while( isClear( reader, 0, bottom, w, 1))
+			bottom--;
+		while( isClear( reader, left, top, 1, bottom - top + 1))
+			left++;
+		while( isClear( reader, right, top, 1, bottom - top + 1))
+			right--;
+		snapshotOffset.set( left, top);
+		if( left == 0 && top == 0 && right == w - 1 && bottom == h - 1)
+			return image;
+		return new WritableImage( reader, left, top, right - left + 1, bottom - top + 1);
+	}
+
+	private boolean isClear( PixelReader reader, int x, int y, int w, int h){
+		for( int row = y; row < y + h; row++){
+			for( int col = x; col < x + w; col++){
+				if( (reader.getArgb( col, row) >>> 24) != 0)
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * store where the image of this sprite is drawn, at its {@link #coord} in tiles plus {@link #snapshotOffset}.
+	 * @param image - image drawn by this sprite, usually returned by {@link #createSnapshot(Node, double, double)}.
+	 * @return the new draw bounds.
+	 */
+	protected RectangleBounds setDrawBounds( Image image){
+		drawBounds = new RectangleBounds( coord.x() * tileSize.x() * scale + snapshotOffset.x(),
+				coord.y() * tileSize.y() * scale + snapshotOffset.y(), image.getWidth(), image.getHeight());
+		return drawBounds;
+	}
+
+	/**
+	 * @return area covered by this sprite in map coordinates, null if unknown.
+	 */
+	public RectangleBounds getDrawBounds(){
+		return drawBounds;
+	}
+
+	/**
+	 * skip drawing if {@link #getDrawBounds()} is known and outside of view.
+	 */
+	@Override
+	public void draw( GraphicsContext gc, RectangleBounds view){
+		if( drawBounds == null || view.intersects( drawBounds))
+			draw( gc);
+	}
+
+	/**
+	 * @return top left of the snapshot relative to where the sprite is drawn.
+	 */
+	public Tuple getSnapshotOffset(){
+		return snapshotOffset;
+	}
+
+	/**
+	 * @return memory used by the snapshots of this sprite at 4 bytes per pixel, zero if there is none.
+	 */
+	public long getSnapshotBytes(){
+		return snapshotBytes;
+	}
+
+	/**
+	 * @return memory snapshots of the whole node would have used at 4 bytes per pixel.
+	 */
+	public long getUntrimmedBytes(){
+		return untrimmedBytes;
+	}
 }
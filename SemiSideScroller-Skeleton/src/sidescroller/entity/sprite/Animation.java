@@ -0,0 +1,105 @@
+package sidescroller.entity.sprite;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import sidescroller.entity.sprite.tile.Tile;
+
+/**
+ * <p>
+ * the frames of one animation strip, cut out once into separate images already scaled and mirrored,
+ * so drawing a frame is one drawImage of a whole image at its own size. frames are scaled with nearest
+ * neighbor sampling to keep pixel art sharp.
+ * </p>
+ * <p>
+ * the frame to show is picked from the number of simulation ticks the animation has been playing,
+ * see {@link #frameAt(long)}, so its speed does not depend on how often it is drawn.
+ * </p>
+ */
+public class Animation{
+
+	/**
+	 * simulation ticks each frame is shown for, 6 frames per second at 60 ticks per second.
+	 */
+	public static final int TICKS_PER_FRAME = 10;
+
+	private final Image[] right;
+	private final Image[] left;
+	private final double scale;
+
+	private Animation( Image[] right, Image[] left, double scale){
+		this.right = right;
+		this.left = left;
+		this.scale = scale;
+	}
+
+	/**
+	 * cut a horizontal strip into its frames.
+	 * @param strip - image holding the frames side by side, like a page of {@link TextureAtlas}.
+	 * @param x0 - x of the first frame on the image.
+	 * @param y0 - y of the first frame on the image.
+	 * @param tile - size of one frame and number of frames in {@link Tile#count()} x.
+	 * @param scale - size multiplier of the cut frames.
+	 * @return animation of the strip.
+	 */
+	public static Animation slice( Image strip, int x0, int y0, Tile tile, double scale){
+		int w = (int) tile.size().x(), h = (int) tile.size().y();
+		int count = (int) tile.count().x();
+		Image[] right = new Image[count], left = new Image[count];
+		PixelReader reader = strip.getPixelReader();
+		int[] source = new int[w * h];
+		for( int i = 0; i < count; i++){
+			reader.getPixels( x0 + i * w, y0, w, h, PixelFormat.getIntArgbInstance(), source, 0, w);
+			right[i] = scaled( source, w, h, scale, false);
+			left[i] = scaled( source, w, h, scale, true);
+		}
+		return new Animation( right, left, scale);
+	}
+
+	private static WritableImage scaled( int[] source, int w, int h, double scale, boolean mirror){
+		int sw = Math.max( 1, (int) Math.round( w * scale)), sh = Math.max( 1, (int) Math.round( h * scale));
+		int[] pixels = new int[sw * sh];
+		for( int y = 0; y < sh; y++){
+			int row = Math.min( h - 1, (int) (y / scale)) * w;
+			for( int x = 0; x < sw; x++){
+				int col = Math.min( w - 1, (int) (x / scale));
+				pixels[y * sw + x] = source[row + (mirror ? w - 1 - col : col)];
+			}
+		}
+		WritableImage image = new WritableImage( sw, sh);
+		image.getPixelWriter().setPixels( 0, 0, sw, sh, PixelFormat.getIntArgbInstance(), pixels, 0, sw);
+		return image;
+	}
+
+	/**
+	 * @param ticks - number of simulation ticks since the animation started.
+	 * @return index of the frame to show, the animation loops.
+	 */
+	public int frameAt( long ticks){
+		return (int) (Math.max( 0, ticks) / TICKS_PER_FRAME % right.length);
+	}
+
+	/**
+	 * @param frame - index of frame, see {@link #frameAt(long)}.
+	 * @param mirrored - true for the frame flipped horizontally.
+	 * @return image of the frame, already scaled.
+	 */
+	public Image get( int frame, boolean mirrored){
+		return mirrored ? left[frame] : right[frame];
+	}
+
+	/**
+	 * @return number of frames.
+	 */
+	public int frames(){
+		return right.length;
+	}
+
+	/**
+	 * @return size multiplier the frames were cut with.
+	 */
+	public double getScale(){
+		return scale;
+	}
+}
@@ -0,0 +1,205 @@
+package sidescroller.entity.sprite;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * <p>
+ * every image of assets/ decoded ahead of time into one file of raw pixels, so no PNG is decoded at startup.
+ * the file is memory mapped and each image is copied straight from the mapped pages into a {@link WritableImage}.
+ * </p>
+ * <p>
+ * the file starts with an index, magic, version and number of images, then per image its name, w, h and
+ * offset of its pixels from the start of the file. pixels are premultiplied ARGB stored as B, G, R, A bytes,
+ * the byte order JavaFX keeps its own images in, so copying them does not convert anything.
+ * names are paths relative to assets/ with forward slashes, see {@link #key(String)}.
+ * </p>
+ * <p>
+ * the pack is made offline by {@link #write(Path, Path)}, see {@link sidescroller.AssetPackTool}.
+ * </p>
+ */
+public class AssetPack{
+
+	/**
+	 * "SSAP" in ASCII.
+	 */
+	public static final int MAGIC = 0x53534150;
+	public static final int VERSION = 1;
+	private static final String FILE_PREFIX = "file:assets";
+
+	private final MappedByteBuffer buffer;
+	/**
+	 * w, h and offset of each image by name.
+	 */
+	private final Map< String, long[]> index;
+
+	private AssetPack( MappedByteBuffer buffer, Map< String, long[]> index){
+		this.buffer = buffer;
+		this.index = index;
+	}
+
+	/**
+	 * @param path - path of an asset as passed to {@link Assets#IMAGES}, like "file:assets\\tiles\\Tilesv2.png".
+	 * @return name of the asset in a pack, like "tiles/Tilesv2.png".
+	 */
+	public static String key( String path){
+		String name = path.startsWith( FILE_PREFIX) ? path.substring( FILE_PREFIX.length()) : path;
+		name = name.replace( '\\', '/');
+		return name.startsWith( "/") ? name.substring( 1) : name;
+	}
+
+	/**
+	 * decode every PNG under given folder and write them into a pack.
+	 * @param assets - folder holding the assets.
+	 * @param pack - file to write.
+	 * @return number of images written.
+	 * @throws IOException if an image cannot be read or the pack cannot be written.
+	 */
+	public static int write( Path assets, Path pack) throws IOException{
+		List< Path> files;
+		try( Stream< Path> walk = Files.walk( assets)){
+			files = walk.filter( p -> p.toString().endsWith( ".png")).sorted().collect( Collectors.toList());
+		}
+		Map< String, BufferedImage> images = new HashMap<>();
+		for( Path file: files){
+			BufferedImage image = ImageIO.read( file.toFile());
+			if( image == null)
+				throw new IOException( "not an image: " + file);
+			images.put( assets.relativize( file).toString().replace( '\\', '/'), image);
+		}
+		write( images, pack);
+		return images.size();
+	}
+
+	/**
+	 * write given images into a pack, sorted by name.
+	 * @param images - images by name.
+	 * @param pack - file to write.
+	 * @throws IOException if the pack cannot be written.
+	 */
+	public static void write( Map< String, BufferedImage> images, Path pack) throws IOException{
+		String[] names = images.keySet().stream().sorted().toArray( String[]::new);
+		// the index is written first, so its size is counted before the pixel offsets are known
+		long offset = 12;
+		for( String name: names)
+			offset += 2 + name.getBytes( StandardCharsets.UTF_8).length + 16;
+		try( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( pack)))){
+			out.writeInt( MAGIC);
+			out.writeInt( VERSION);
+			out.writeInt( names.length);
+			for( String name: names){
+				BufferedImage image = images.get( name);
+				out.writeUTF( name);
+				out.writeInt( image.getWidth());
+				out.writeInt( image.getHeight());
+				out.writeLong( offset);
+				offset += 4L * image.getWidth() * image.getHeight();
+			}
+			for( String name: names)
+				writePixels( out, images.get( name));
+		}
+	}
+
+	private static void writePixels( OutputStream out, BufferedImage image) throws IOException{
+		int w = image.getWidth(), h = image.getHeight();
+		int[] argb = image.getRGB( 0, 0, w, h, null, 0, w);
+		byte[] bgra = new byte[4 * argb.length];
+		for( int i = 0; i < argb.length; i++){
+			int a = argb[i] >>> 24;
+			bgra[i * 4] = (byte) premultiply( argb[i], a);
+			bgra[i * 4 + 1] = (byte) premultiply( argb[i] >> 8, a);
+			bgra[i * 4 + 2] = (byte) premultiply( argb[i] >> 16, a);
+			bgra[i * 4 + 3] = (byte) a;
+		}
+		out.write( bgra);
+	}
+
+	private static int premultiply( int channel, int alpha){
+		return ((channel & 0xff) * alpha + 127) / 255;
+	}
+
+	/**
+	 * map a pack and read its index, pixels are read when an image is made.
+	 * @param pack - file made by {@link #write(Path, Path)}.
+	 * @return the opened pack.
+	 * @throws IOException if the file cannot be read or is not a pack of this version.
+	 */
+	public static AssetPack open( Path pack) throws IOException{
+		MappedByteBuffer buffer;
+		try( FileChannel channel = FileChannel.open( pack, StandardOpenOption.READ)){
+			buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if( buffer.limit() < 12 || buffer.getInt( 0) != MAGIC)
+			throw new IOException( "not an asset pack: " + pack);
+		if( buffer.getInt( 4) != VERSION)
+			throw new IOException( "asset pack version " + buffer.getInt( 4) + " is not " + VERSION + ": " + pack);
+		int count = buffer.getInt( 8);
+		Map< String, long[]> index = new HashMap<>();
+		ByteBuffer in = buffer.duplicate();
+		in.position( 12);
+		for( int i = 0; i < count; i++){
+			byte[] name = new byte[in.getShort() & 0xffff];
+			in.get( name);
+			long[] entry = { in.getInt(), in.getInt(), in.getLong()};
+			if( entry[2] + 4 * entry[0] * entry[1] > buffer.limit())
+				throw new IOException( "asset pack is truncated: " + pack);
+			// writeUTF only differs from UTF-8 for nul and supplementary characters, which paths do not hold
+			index.put( new String( name, StandardCharsets.UTF_8), entry);
+		}
+		return new AssetPack( buffer, index);
+	}
+
+	/**
+	 * @param name - name of the image, see {@link #key(String)}.
+	 * @return true if the pack holds the image.
+	 */
+	public boolean contains( String name){
+		return index.containsKey( name);
+	}
+
+	/**
+	 * @return names of every image in the pack.
+	 */
+	public Set< String> names(){
+		return index.keySet();
+	}
+
+	/**
+	 * copy an image out of the mapped file.
+	 * @param name - name of the image, see {@link #key(String)}.
+	 * @return a new image.
+	 * @throws IllegalArgumentException if the pack does not hold the image.
+	 */
+	public WritableImage image( String name){
+		long[] entry = index.get( name);
+		if( entry == null)
+			throw new IllegalArgumentException( "asset \"" + name + "\" is not in the pack");
+		int w = (int) entry[0], h = (int) entry[1], offset = (int) entry[2];
+		ByteBuffer pixels = buffer.duplicate();
+		pixels.position( offset).limit( offset + 4 * w * h);
+		WritableImage image = new WritableImage( w, h);
+		image.getPixelWriter().setPixels( 0, 0, w, h, PixelFormat.getByteBgraPreInstance(), pixels.slice(), 4 * w);
+		return image;
+	}
+}
@@ -0,0 +1,152 @@
+package sidescroller.entity.sprite;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javafx.scene.image.Image;
+import sidescroller.entity.sprite.tile.BackgroundTile;
+import sidescroller.entity.sprite.tile.BulletTile;
+import sidescroller.entity.sprite.tile.FloraTile;
+import sidescroller.entity.sprite.tile.HeartTile;
+import sidescroller.entity.sprite.tile.ItemTile;
+import sidescroller.entity.sprite.tile.LandTile;
+import sidescroller.entity.sprite.tile.PlatformTile;
+import sidescroller.entity.sprite.tile.Samurai;
+import sidescroller.entity.sprite.tile.Tile;
+import sidescroller.jfr.AssetDecodeEvent;
+import utility.AssetCache;
+
+/**
+ * paths of the shared images, the process wide cache they are decoded into and the atlas they are packed in.
+ * if an {@link AssetPack} is set images in it are copied out of the pack instead of decoding their PNG.
+ */
+public final class Assets{
+
+	/**
+	 * where {@link sidescroller.AssetPackTool} writes the pack by default.
+	 */
+	public static final Path PACK = Paths.get( "assets", "assets.pack");
+	public static final String TILE_MAP = "file:assets\\tiles\\Tilesv2.png";
+	private static final String[] BULLETS = { "file:assets\\bullet\\b_1.png", "file:assets\\bullet\\b_2.png",
+			"file:assets\\bullet\\b_3.png"};
+	private static final String[] HEARTS = { "file:assets\\heart\\full_heart.png", "file:assets\\heart\\half_heart.png",
+			"file:assets\\heart\\empty_heart.png"};
+	private static final String[] SAMURAI = { "file:assets\\samurai\\Run_strip4.png", "file:assets\\samurai\\Idle_strip4.png",
+			"file:assets\\samurai\\Jump_strip2.png", "file:assets\\samurai\\Sword_strip6.png"};
+	/**
+	 * every image fits on one page of this size.
+	 */
+	private static final int ATLAS_PAGE = 1024;
+	private static final BulletTile[] BULLET_TILES = BulletTile.values();
+
+	private static TextureAtlas atlas;
+	private static volatile AssetPack pack;
+
+	/**
+	 * every image is decoded once, size is counted as 4 bytes per pixel.
+	 */
+	public static final AssetCache< Image> IMAGES = new AssetCache<>( Assets::decode,
+			image -> (long) image.getWidth() * (long) image.getHeight() * 4);
+
+	private Assets(){
+	}
+
+	/**
+	 * @return number of bullet types in assets/bullet.
+	 */
+	public static int bulletCount(){
+		return BULLET_TILES.length;
+	}
+
+	/**
+	 * @param type - from zero to {@link #bulletCount()} - 1.
+	 * @return tile of the bullet image in the atlas.
+	 */
+	public static BulletTile bullet( int type){
+		return BULLET_TILES[type];
+	}
+
+	/**
+	 * @param type - from zero to {@link #bulletCount()} - 1.
+	 * @return width of the bullet image, known without decoding it.
+	 */
+	public static int bulletWidth( int type){
+		return (int) BULLET_TILES[type].size().x();
+	}
+
+	/**
+	 * @param type - from zero to {@link #bulletCount()} - 1.
+	 * @return height of the bullet image, known without decoding it.
+	 */
+	public static int bulletHeight( int type){
+		return (int) BULLET_TILES[type].size().y();
+	}
+
+	/**
+	 * the atlas of every tile, bullet, heart and samurai strip, packed on first use. source images are
+	 * released once packed, so only the pages stay in memory.
+	 * @return the shared atlas.
+	 */
+	public static synchronized TextureAtlas atlas(){
+		if( atlas != null)
+			return atlas;
+		TextureAtlas packing = new TextureAtlas( ATLAS_PAGE, 1);
+		List< String> paths = new ArrayList<>();
+		paths.add( TILE_MAP);
+		packing.add( IMAGES.acquire( TILE_MAP), Stream.of( LandTile.values(), PlatformTile.values(), BackgroundTile.values(),
+				FloraTile.values(), ItemTile.values()).flatMap( Arrays::stream).toArray( Tile[]::new));
+		add( packing, paths, BULLETS, BULLET_TILES);
+		add( packing, paths, HEARTS, HeartTile.values());
+		add( packing, paths, SAMURAI, Samurai.values());
+		atlas = packing.pack();
+		for( String path: paths)
+			IMAGES.release( path);
+		// everything is drawn from the atlas now, the decoded sources would only take memory
+		IMAGES.clear();
+		return atlas;
+	}
+
+	/**
+	 * @return true if {@link #atlas()} was already packed.
+	 */
+	public static synchronized boolean hasAtlas(){
+		return atlas != null;
+	}
+
+	private static void add( TextureAtlas packing, List< String> paths, String[] files, Tile[] tiles){
+		for( int i = 0; i < files.length; i++){
+			packing.add( IMAGES.acquire( files[i]), tiles[i]);
+			paths.add( files[i]);
+		}
+	}
+
+	/**
+	 * @param assetPack - pack to load images from, null to decode every image from its file.
+	 */
+	public static void setPack( AssetPack assetPack){
+		pack = assetPack;
+	}
+
+	/**
+	 * @return pack images are loaded from, null if none.
+	 */
+	public static AssetPack getPack(){
+		return pack;
+	}
+
+	private static Image decode( String path){
+		AssetDecodeEvent event = new AssetDecodeEvent();
+		event.begin();
+		AssetPack assetPack = pack;
+		String key = AssetPack.key( path);
+		Image image = assetPack != null && assetPack.contains( key) ? assetPack.image( key) : new Image( path);
+		event.end();
+		if( event.shouldCommit())
+			event.setImage( path, image.getWidth(), image.getHeight()).commit();
+		return image;
+	}
+}
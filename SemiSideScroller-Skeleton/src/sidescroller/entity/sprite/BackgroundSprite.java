@@ -1,45 +1,81 @@
 package sidescroller.entity.sprite;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BiFunction;
 
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import sidescroller.entity.property.Sprite;
+import sidescroller.entity.sprite.TextureAtlas.Region;
 import sidescroller.entity.sprite.tile.Tile;
+import utility.RectangleBounds;
 import utility.Tuple;
 
 public class BackgroundSprite extends Sprite{
 
-	private static final String TILE_MAP = "file:assets\\tiles\\Tilesv2.png";
-
-	private Image backgoundImage;
+	/**
+	 * the background is larger than the canvas used for snapshots, so it is taken in chunks of
+	 * as many whole tiles as fit in the canvas. each chunk is drawn at its own bounds.
+	 */
+	private final List< Image> chunks = new ArrayList<>();
+	private final List< RectangleBounds> chunkBounds = new ArrayList<>();
 
 	@Override
 	public void draw( GraphicsContext gc){
-		gc.drawImage( backgoundImage, coord.x() * tileSize.x() * scale, coord.y() * tileSize.y() * scale);
+		for( int i = 0; i < chunks.size(); i++){
+			gc.drawImage( chunks.get( i), chunkBounds.get( i).x(), chunkBounds.get( i).y());
+		}
+	}
+
+	/**
+	 * only draw chunks which are in view.
+	 */
+	@Override
+	public void draw( GraphicsContext gc, RectangleBounds view){
+		for( int i = 0; i < chunks.size(); i++){
+			RectangleBounds bounds = chunkBounds.get( i);
+			if( view.intersects( bounds))
+				gc.drawImage( chunks.get( i), bounds.x(), bounds.y());
+		}
 	}
 
 	/**
-	 * feed this method a single tile with one row and one column. this method will draw this tile
-	 * over the whole canvas.
+	 * feed this method a callback which returns the tile of each row and column. this method will draw
+	 * these tiles over the whole map, one canvas sized chunk at a time.
 	 * @param canvas - {@link Canvas} object to draw the asset on. canvas will be cleared before use.
-	 * @param tile - the tile to be drawn
-	 * @param count - number of rows and columns this land mass will cover.
+	 * @param count - number of rows and columns this background will cover.
+	 * @param callback - returns the tile for given row and column.
 	 */
 	public void createSnapshot( Canvas canvas, Tuple count, BiFunction< Integer, Integer, Tile> callback){
-		Image image = new Image( TILE_MAP);
+		TextureAtlas atlas = Assets.atlas();
 		GraphicsContext gc = canvas.getGraphicsContext2D();
-		gc.clearRect( 0, 0, canvas.getWidth(), canvas.getHeight());
-		
-		for( int col = 0; col < count.y(); col++){
-			for( int row = 0; row < count.x(); row++){
-				Tile tile = callback.apply( row, col);
-				gc.drawImage( image, tile.coord().x() * tileSize.x()+1, tile.coord().y() * tileSize.y(), tileSize.x()-2, tileSize.y(), 
-						col * (tileSize.x() * scale), row * (tileSize.y() * scale), tileSize.x() * scale, tileSize.y() * scale);
+		double cellW = tileSize.x() * scale, cellH = tileSize.y() * scale;
+		int chunkCols = Math.max( 1, (int) (canvas.getWidth() / cellW));
+		int chunkRows = Math.max( 1, (int) (canvas.getHeight() / cellH));
+		chunks.clear();
+		chunkBounds.clear();
+
+		for( int startCol = 0; startCol < count.y(); startCol += chunkCols){
+			for( int startRow = 0; startRow < count.x(); startRow += chunkRows){
+				int cols = (int) Math.min( chunkCols, count.y() - startCol);
+				int rows = (int) Math.min( chunkRows, count.x() - startRow);
+				gc.clearRect( 0, 0, canvas.getWidth(), canvas.getHeight());
+				for( int col = 0; col < cols; col++){
+					for( int row = 0; row < rows; row++){
+						Region region = atlas.get( callback.apply( startRow + row, startCol + col));
+						gc.drawImage( region.image(), region.x()+1, region.y(), tileSize.x()-2, tileSize.y(), 
+								col * cellW, row * cellH, cellW, cellH);
+					}
+				}
+				Image chunk = super.createSnapshot( canvas, cols * cellW, rows * cellH);
+				chunks.add( chunk);
+				chunkBounds.add( new RectangleBounds( (coord.x() + startCol) * cellW + snapshotOffset.x(),
+						(coord.y() + startRow) * cellH + snapshotOffset.y(), chunk.getWidth(), chunk.getHeight()));
 			}
 		}
-		
-		backgoundImage = super.createSnapshot( canvas);
+
+		drawBounds = new RectangleBounds( coord.x() * cellW, coord.y() * cellH, count.y() * cellW, count.x() * cellH);
 	}
 }
@@ -4,18 +4,17 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import sidescroller.entity.property.Sprite;
+import sidescroller.entity.sprite.TextureAtlas.Region;
 import sidescroller.entity.sprite.tile.LandTile;
 import sidescroller.entity.sprite.tile.Tile;
 
 public class LandSprite extends Sprite{
 	
-	private static final String TILE_MAP = "file:assets\\tiles\\Tilesv2.png";
-
 	private Image landImage;
 
 	@Override
 	public void draw( GraphicsContext gc){
-		gc.drawImage( landImage, coord.x() * tileSize.x() * scale, coord.y() * tileSize.y() * scale);
+		gc.drawImage( landImage, drawBounds.x(), drawBounds.y());
 	}
 	
 	/**
@@ -26,19 +25,20 @@ public class LandSprite extends Sprite{
 	 * @param colCount - number of columns this land will be drawn on.
 	 */
 	public void createSnapshot( Canvas canvas, int rowCount, int colCount){
-		Image image = new Image( TILE_MAP);
+		TextureAtlas atlas = Assets.atlas();
 		GraphicsContext gc = canvas.getGraphicsContext2D();
 		gc.clearRect( 0, 0, canvas.getWidth(), canvas.getHeight());
 		
 		for( int col = 0; col < colCount; col++){
 			for( int row = 0; row < rowCount; row++){
-				Tile tile = getTile( row, col, rowCount, colCount);
-				gc.drawImage( image, tile.coord().x() * tileSize.x()+1, tile.coord().y() * tileSize.y(), tileSize.x()-2, tileSize.y(), 
+				Region region = atlas.get( getTile( row, col, rowCount, colCount));
+				gc.drawImage( region.image(), region.x()+1, region.y(), tileSize.x()-2, tileSize.y(), 
 						col * (tileSize.x() * scale), row * (tileSize.y() * scale), tileSize.x() * scale, tileSize.y() * scale);
 			}
 		}
 		
-		landImage = super.createSnapshot( canvas);
+		landImage = super.createSnapshot( canvas, colCount * tileSize.x() * scale, rowCount * tileSize.y() * scale);
+		setDrawBounds( landImage);
 	}
 	
 	private Tile getTile( int row, int col, int maxRows, int maxCols){
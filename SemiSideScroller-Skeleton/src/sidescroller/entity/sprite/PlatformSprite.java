@@ -4,17 +4,16 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import sidescroller.entity.property.Sprite;
+import sidescroller.entity.sprite.TextureAtlas.Region;
 import sidescroller.entity.sprite.tile.Tile;
 
 public class PlatformSprite extends Sprite{
 
-	private static final String TILE_MAP = "file:assets\\tiles\\Tilesv2.png";
-
 	private Image platformImage;
 
 	@Override
 	public void draw( GraphicsContext gc){
-		gc.drawImage( platformImage, coord.x() * tileSize.x() * scale, coord.y() * tileSize.y() * scale);
+		gc.drawImage( platformImage, drawBounds.x(), drawBounds.y());
 	}
 
 	/**
@@ -24,22 +23,24 @@ public class PlatformSprite extends Sprite{
 	 * @param length - number of columns that platform will cover.
 	 */
 	public void createSnapshot( Canvas canvas, Tile tile, int length){
-		Image image = new Image( TILE_MAP);
+		// the end pieces are the tiles left and right of given tile, they are next to it on the same sheet
+		Region region = Assets.atlas().get( tile);
 		GraphicsContext gc = canvas.getGraphicsContext2D();
 		gc.clearRect( 0, 0, canvas.getWidth(), canvas.getHeight());
 
 		double colPos;
 		for( int col = 0; col < length; col++){
 			if(col==0)
-				colPos = tile.coord().x()-1;
+				colPos = -1;
 			else if(col==length-1)
-				colPos = tile.coord().x()+1;
+				colPos = 1;
 			else
-				colPos = tile.coord().x();
-			gc.drawImage( image, colPos * tileSize.x() , tile.coord().y() * tileSize.y(), tileSize.x() , tileSize.y()-1,
+				colPos = 0;
+			gc.drawImage( region.image(), region.x() + colPos * tileSize.x() , region.y(), tileSize.x() , tileSize.y()-1,
 					col * (tileSize.x() * scale), 0, tileSize.x() * scale, tileSize.y() * scale);
 		}
 
-		platformImage = super.createSnapshot( canvas);
+		platformImage = super.createSnapshot( canvas, length * tileSize.x() * scale, tileSize.y() * scale);
+		setDrawBounds( platformImage);
 	}
 }
@@ -1,33 +1,39 @@
 package sidescroller.entity.sprite;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import sidescroller.entity.property.Sprite;
+import sidescroller.entity.sprite.TextureAtlas.Region;
 import sidescroller.entity.sprite.tile.Samurai;
 
 public class PlayerSprite extends Sprite{
 
-	private static final Image IDE = new Image( "file:assets\\samurai\\Idle_strip4.png");
-	private static final Image RUN = new Image( "file:assets\\samurai\\Run_strip4.png");
-	private static final Image JUMP = new Image( "file:assets\\samurai\\Jump_strip2.png");
-	private static final Image SWORD = new Image( "file:assets\\samurai\\Sword_strip6.png");
+	/**
+	 * mirrored frames are drawn this much further right, where the flipped strip used to land.
+	 */
+	private static final double LEFT_OFFSET = 8;
 
-	private double playerFrame = 0;
-	private Image activeImage;
+	/**
+	 * strips cut out of the atlas into frames at the current scale, made on first draw of each animation.
+	 */
+	private final Map< Samurai, Animation> animations = new EnumMap<>( Samurai.class);
 	private Samurai tile;
 	private boolean left;
+	private long ticks;
 
 	@Override
 	public void draw( GraphicsContext gc){
-		playerFrame += .1;
-		if( playerFrame > tile.count().x()){
-			playerFrame = 0;
-		}
-		if(left){
-			gc.drawImage( activeImage, ((int) playerFrame) * 20.0, 0, 20, 20, coord.x()+(20 * scale)+8, coord.y(), -20 * scale, 20 * scale);
-		}else{
-			gc.drawImage( activeImage, ((int) playerFrame) * 20.0, 0, 20, 20, coord.x(), coord.y(), 20 * scale, 20 * scale);
+		Animation animation = animations.get( tile);
+		if( animation == null || animation.getScale() != scale){
+			Region strip = Assets.atlas().get( tile);
+			animation = Animation.slice( strip.image(), strip.x(), strip.y(), tile, scale);
+			animations.put( tile, animation);
 		}
+		Image frame = animation.get( animation.frameAt( ticks), left);
+		gc.drawImage( frame, left ? coord.x() + LEFT_OFFSET : coord.x(), coord.y());
 	}
 	
 	/**
@@ -38,30 +44,18 @@ public class PlayerSprite extends Sprite{
 		left = isLeft;
 	}
 
+	/**
+	 * @param ticks - number of simulation ticks the current animation has been playing, picks the frame.
+	 */
+	public void setTicks( long ticks){
+		this.ticks = ticks;
+	}
+
 	/**
 	 * Using Samurai enum determine what animation to use for player sprite.
 	 * @param tile - {@link Samurai} object.
 	 */
 	public void setTile( Samurai tile){
-		if(tile==this.tile)
-			return;
-		switch (tile) {
-			case IDLE:
-				activeImage = IDE;
-				break;
-			case JUMP:
-				activeImage = JUMP;
-				break;
-			case RUN:
-				activeImage = RUN;
-				break;
-			case SWORD:
-				activeImage = SWORD;
-				break;
-			default:
-				throw new IllegalArgumentException( "Tile \"" + tile + "\" is not supported");
-		}
 		this.tile = tile;
-		playerFrame = 0;
 	}
 }
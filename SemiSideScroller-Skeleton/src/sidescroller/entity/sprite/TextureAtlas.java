@@ -0,0 +1,228 @@
+package sidescroller.entity.sprite;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import sidescroller.entity.sprite.tile.Tile;
+
+/**
+ * <p>
+ * many small source images packed into a few large pages, so everything drawn from the atlas shares the same
+ * few textures. each source image is {@link #add(Image, Tile...) added} with the tiles found on it, after
+ * {@link #pack()} the area of each tile on its page is found with {@link #get(Tile)}.
+ * </p>
+ * <p>
+ * images are placed on shelves, tallest first, left to right until the page is full. images are kept apart by
+ * a transparent padding so smoothing does not bleed one image into another. pages are trimmed to the area used.
+ * </p>
+ */
+public class TextureAtlas{
+
+	/**
+	 * area of one tile on a page of the atlas.
+	 */
+	public static final class Region{
+
+		private final Image image;
+		private final int x, y, w, h;
+
+		private Region( Image image, int x, int y, int w, int h){
+			this.image = image;
+			this.x = x;
+			this.y = y;
+			this.w = w;
+			this.h = h;
+		}
+
+		/**
+		 * @return page holding the region.
+		 */
+		public Image image(){
+			return image;
+		}
+
+		public int x(){
+			return x;
+		}
+
+		public int y(){
+			return y;
+		}
+
+		public int w(){
+			return w;
+		}
+
+		public int h(){
+			return h;
+		}
+	}
+
+	private static final class Entry{
+
+		private final Image image;
+		private final Tile[] tiles;
+		private final int w, h;
+		private int page, x, y;
+
+		private Entry( Image image, Tile[] tiles){
+			this.image = image;
+			this.tiles = tiles;
+			this.w = (int) image.getWidth();
+			this.h = (int) image.getHeight();
+		}
+	}
+
+	private final int pageSize;
+	private final int padding;
+	private final List< Entry> entries = new ArrayList<>();
+	private final List< WritableImage> pages = new ArrayList<>();
+	private final Map< Tile, Region> regions = new HashMap<>();
+	private long sourceBytes;
+
+	/**
+	 * @param pageSize - max width and height of a page.
+	 * @param padding - transparent pixels between two images.
+	 */
+	public TextureAtlas( int pageSize, int padding){
+		this.pageSize = pageSize;
+		this.padding = padding;
+	}
+
+	/**
+	 * queue an image to be packed. the image is only read by {@link #pack()}.
+	 * @param image - decoded source image.
+	 * @param tiles - tiles on the image, found with their {@link Tile#coord()} and {@link Tile#size()}.
+	 * @return the current instance of this object
+	 * @throws IllegalStateException if already packed.
+	 * @throws IllegalArgumentException if the image does not fit on a page or a tile is outside of it.
+	 */
+	public TextureAtlas add( Image image, Tile... tiles){
+		if( !pages.isEmpty())
+			throw new IllegalStateException( "atlas is already packed");
+		Entry entry = new Entry( image, tiles);
+		if( entry.w > pageSize || entry.h > pageSize)
+			throw new IllegalArgumentException( "image of " + entry.w + "x" + entry.h + " is larger than page " + pageSize);
+		for( Tile tile: tiles){
+			if( right( tile) > entry.w || bottom( tile) > entry.h)
+				throw new IllegalArgumentException( "tile \"" + tile + "\" is outside of its image");
+		}
+		entries.add( entry);
+		return this;
+	}
+
+	/**
+	 * place every added image and copy them into pages. source images are no longer needed afterwards.
+	 * @return the current instance of this object
+	 */
+	public TextureAtlas pack(){
+		if( !pages.isEmpty())
+			throw new IllegalStateException( "atlas is already packed");
+		List< Entry> sorted = new ArrayList<>( entries);
+		sorted.sort( ( a, b) -> b.h != a.h ? b.h - a.h : b.w - a.w);
+		List< int[]> used = new ArrayList<>();
+		int page = 0, x = 0, y = 0, shelf = 0;
+		for( Entry e: sorted){
+			if( x + e.w > pageSize){
+				x = 0;
+				y += shelf + padding;
+				shelf = 0;
+			}
+			if( y + e.h > pageSize){
+				page++;
+				x = 0;
+				y = 0;
+				shelf = 0;
+			}
+			if( page == used.size())
+				used.add( new int[2]);
+			e.page = page;
+			e.x = x;
+			e.y = y;
+			x += e.w + padding;
+			shelf = Math.max( shelf, e.h);
+			used.get( page)[0] = Math.max( used.get( page)[0], e.x + e.w);
+			used.get( page)[1] = Math.max( used.get( page)[1], e.y + e.h);
+		}
+		for( int[] size: used)
+			pages.add( new WritableImage( Math.max( 1, size[0]), Math.max( 1, size[1])));
+		for( Entry e: entries){
+			int[] pixels = new int[e.w * e.h];
+			e.image.getPixelReader().getPixels( 0, 0, e.w, e.h, PixelFormat.getIntArgbInstance(), pixels, 0, e.w);
+			WritableImage image = pages.get( e.page);
+			image.getPixelWriter().setPixels( e.x, e.y, e.w, e.h, PixelFormat.getIntArgbInstance(), pixels, 0, e.w);
+			sourceBytes += 4L * e.w * e.h;
+			for( Tile tile: e.tiles){
+				int tx = (int) (tile.coord().x() * tile.size().x()), ty = (int) (tile.coord().y() * tile.size().y());
+				regions.put( tile, new Region( image, e.x + tx, e.y + ty, right( tile) - tx, bottom( tile) - ty));
+			}
+		}
+		entries.clear();
+		return this;
+	}
+
+	private static int right( Tile tile){
+		return (int) ((tile.coord().x() + tile.count().x()) * tile.size().x());
+	}
+
+	private static int bottom( Tile tile){
+		return (int) ((tile.coord().y() + tile.count().y()) * tile.size().y());
+	}
+
+	/**
+	 * @param tile - tile added with its image.
+	 * @return area of the tile on its page.
+	 * @throws IllegalArgumentException if the tile is not in the atlas.
+	 */
+	public Region get( Tile tile){
+		Region region = regions.get( tile);
+		if( region == null)
+			throw new IllegalArgumentException( "Tile \"" + tile + "\" is not in the atlas");
+		return region;
+	}
+
+	/**
+	 * @param tile - any tile.
+	 * @return true if the tile is in the atlas.
+	 */
+	public boolean contains( Tile tile){
+		return regions.containsKey( tile);
+	}
+
+	/**
+	 * @return number of pages, zero before {@link #pack()}.
+	 */
+	public int pageCount(){
+		return pages.size();
+	}
+
+	/**
+	 * @param index - from zero to {@link #pageCount()} - 1.
+	 * @return image of the page.
+	 */
+	public Image page( int index){
+		return pages.get( index);
+	}
+
+	/**
+	 * @return memory used by the pages at 4 bytes per pixel.
+	 */
+	public long getBytes(){
+		long bytes = 0;
+		for( Image page: pages)
+			bytes += 4L * (long) page.getWidth() * (long) page.getHeight();
+		return bytes;
+	}
+
+	/**
+	 * @return memory the packed source images used at 4 bytes per pixel.
+	 */
+	public long getSourceBytes(){
+		return sourceBytes;
+	}
+}
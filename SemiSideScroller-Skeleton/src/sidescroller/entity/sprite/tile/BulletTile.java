@@ -0,0 +1,36 @@
+package sidescroller.entity.sprite.tile;
+
+import utility.Tuple;
+
+/**
+ * bullet images, one per file in assets/bullet. ordinal is the bullet type stored by the projectile pool.
+ */
+public enum BulletTile implements Tile{
+
+	B_1(13,5), B_2(13,10), B_3(5,5);
+
+	private Tuple coord;
+	private Tuple count;
+	private Tuple size;
+
+	private BulletTile( int width, int height){
+		coord = Tuple.pair( 0, 0);
+		count = Tuple.pair( 1, 1);
+		size = Tuple.pair( width, height);
+	}
+
+	@Override
+	public Tuple coord(){
+		return coord;
+	}
+
+	@Override
+	public Tuple size(){
+		return size;
+	}
+
+	@Override
+	public Tuple count(){
+		return count;
+	}
+}
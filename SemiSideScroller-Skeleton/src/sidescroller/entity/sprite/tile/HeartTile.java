@@ -0,0 +1,36 @@
+package sidescroller.entity.sprite.tile;
+
+import utility.Tuple;
+
+/**
+ * heart images for health, one per file in assets/heart.
+ */
+public enum HeartTile implements Tile{
+
+	FULL, HALF, EMPTY;
+
+	private Tuple coord;
+	private Tuple count;
+	private Tuple size;
+
+	private HeartTile(){
+		coord = Tuple.pair( 0, 0);
+		count = Tuple.pair( 1, 1);
+		size = Tuple.pair( 36, 32);
+	}
+
+	@Override
+	public Tuple coord(){
+		return coord;
+	}
+
+	@Override
+	public Tuple size(){
+		return size;
+	}
+
+	@Override
+	public Tuple count(){
+		return count;
+	}
+}
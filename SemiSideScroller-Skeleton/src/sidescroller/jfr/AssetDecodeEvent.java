@@ -0,0 +1,40 @@
+package sidescroller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * an image made from an asset, either decoded from a file or rendered into a sprite snapshot.
+ */
+@Name( "sidescroller.AssetDecode")
+@Label( "Asset Decode")
+@Category( { "Side Scroller", "Assets"})
+@Description( "an image decoded from a file or created by a sprite snapshot")
+public class AssetDecodeEvent extends Event{
+
+	@Label( "Source")
+	@Description( "path of the file or name of the sprite class")
+	private String source;
+
+	@Label( "Width")
+	private int width;
+
+	@Label( "Height")
+	private int height;
+
+	@Label( "Size")
+	@DataAmount
+	private long bytes;
+
+	public AssetDecodeEvent setImage( String source, double width, double height){
+		this.source = source;
+		this.width = (int) width;
+		this.height = (int) height;
+		this.bytes = 4L * this.width * this.height;
+		return this;
+	}
+}
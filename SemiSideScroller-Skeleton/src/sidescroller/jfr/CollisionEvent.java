@@ -0,0 +1,41 @@
+package sidescroller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * the collision pass of one simulation tick.
+ */
+@Name( "sidescroller.Collision")
+@Label( "Collision Pass")
+@Category( { "Side Scroller", "Game Loop"})
+@Description( "players tested against static shapes during one simulation tick")
+@StackTrace( false)
+public class CollisionEvent extends Event{
+
+	@Label( "Players")
+	private int players;
+
+	@Label( "Skipped Players")
+	@Description( "players over empty cells of the collision map, not tested at all")
+	private int skipped;
+
+	@Label( "Checks")
+	@Description( "hitbox intersection tests against static shapes")
+	private int checks;
+
+	@Label( "Hits")
+	private int hits;
+
+	public CollisionEvent setCounts( int players, int skipped, int checks, int hits){
+		this.players = players;
+		this.skipped = skipped;
+		this.checks = checks;
+		this.hits = hits;
+		return this;
+	}
+}
@@ -0,0 +1,64 @@
+package sidescroller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import sidescroller.entity.PhaseProfiler;
+import sidescroller.entity.PhaseProfiler.Phase;
+
+/**
+ * one pulse of the animator. duration of the event is the whole pulse, the fields hold the time of each
+ * {@link Phase} as measured by {@link PhaseProfiler}.
+ */
+@Name( "sidescroller.Frame")
+@Label( "Frame")
+@Category( { "Side Scroller", "Game Loop"})
+@Description( "one pulse of the animator with the time spent in each phase")
+@StackTrace( false)
+public class FrameEvent extends Event{
+
+	@Label( "Frame")
+	@Description( "number of the frame since the profiler was reset")
+	private long frame;
+
+	@Label( "Frame Time")
+	@Description( "time since the previous pulse")
+	@Timespan
+	private long frameTime;
+
+	@Label( "Update")
+	@Timespan
+	private long update;
+
+	@Label( "Collision")
+	@Timespan
+	private long collision;
+
+	@Label( "Clear")
+	@Timespan
+	private long clear;
+
+	@Label( "Draw")
+	@Timespan
+	private long draw;
+
+	/**
+	 * copy the phases of the last ended frame.
+	 * @param profiler - profiler after {@link PhaseProfiler#endFrame()} was called for this frame.
+	 * @param frameTime - nanoseconds since the previous pulse.
+	 * @return current instance of this class.
+	 */
+	public FrameEvent setPhases( PhaseProfiler profiler, long frameTime){
+		this.frame = profiler.frames();
+		this.frameTime = frameTime;
+		this.update = profiler.last( Phase.UPDATE);
+		this.collision = profiler.last( Phase.COLLISION);
+		this.clear = profiler.last( Phase.CLEAR);
+		this.draw = profiler.last( Phase.DRAW);
+		return this;
+	}
+}
@@ -0,0 +1,37 @@
+package sidescroller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * an input event shown on screen, committed by the render thread once the first frame showing its effect
+ * is drawn, see {@link sidescroller.entity.player.InputLatency#drawn}.
+ */
+@Name( "sidescroller.InputLatency")
+@Label( "Input Latency")
+@Category( { "Side Scroller", "Input"})
+@Description( "time from an input event to the simulation tick which used it and to the frame which showed it")
+@StackTrace( false)
+public class InputLatencyEvent extends Event{
+
+	@Label( "To Update")
+	@Description( "time from the input event to the simulation tick which applied it")
+	@Timespan
+	private long toUpdate;
+
+	@Label( "To Frame")
+	@Description( "time from the input event to the end of the first draw after it was applied")
+	@Timespan
+	private long toFrame;
+
+	public InputLatencyEvent setLatency( long toUpdate, long toFrame){
+		this.toUpdate = toUpdate;
+		this.toFrame = toFrame;
+		return this;
+	}
+}
@@ -0,0 +1,40 @@
+package sidescroller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one build step of {@link sidescroller.scene.MapBuilder}, including the snapshot of its sprite.
+ */
+@Name( "sidescroller.MapBuild")
+@Label( "Map Build Step")
+@Category( { "Side Scroller", "Map"})
+@Description( "one structure added to the map by the map builder")
+@StackTrace( false)
+public class MapBuildEvent extends Event{
+
+	@Label( "Step")
+	private String step;
+
+	@Label( "Row")
+	private int row;
+
+	@Label( "Column")
+	private int col;
+
+	@Label( "Tiles")
+	@Description( "number of tiles covered by the structure")
+	private int tiles;
+
+	public MapBuildEvent setStep( String step, int row, int col, int tiles){
+		this.step = step;
+		this.row = row;
+		this.col = col;
+		this.tiles = tiles;
+		return this;
+	}
+}
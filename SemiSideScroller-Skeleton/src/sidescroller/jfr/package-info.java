@@ -0,0 +1,6 @@
+/**
+ * Java Flight Recorder events of the game, all in the "Side Scroller" category. fields are only filled and
+ * committed when {@link jdk.jfr.Event#shouldCommit()} is true, so without a recording the cost is an empty
+ * begin and end. start a recording with <code>-XX:StartFlightRecording=filename=sidescroller.jfr</code>.
+ */
+package sidescroller.jfr;
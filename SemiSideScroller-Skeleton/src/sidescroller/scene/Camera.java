@@ -0,0 +1,93 @@
+package sidescroller.scene;
+
+import utility.RectangleBounds;
+
+/**
+ * <p>
+ * the part of the map visible on the canvas. view is in map coordinates and has the size of the canvas,
+ * when drawing the map is translated by the negative of {@link #x()} and {@link #y()}.
+ * </p>
+ * <p>
+ * the view follows a target by keeping it in the center and is clamped to the limits of the map,
+ * a map smaller than the view is pinned to the top left.
+ * </p>
+ */
+public class Camera{
+
+	private final RectangleBounds view;
+	private double mapW, mapH;
+
+	/**
+	 * @param w - width of the view, normally width of the canvas.
+	 * @param h - height of the view, normally height of the canvas.
+	 */
+	public Camera( double w, double h){
+		view = new RectangleBounds( 0, 0, w, h);
+		mapW = w;
+		mapH = h;
+	}
+
+	/**
+	 * @param w - width of the whole map.
+	 * @param h - height of the whole map.
+	 * @return current instance of this class.
+	 */
+	public Camera setLimits( double w, double h){
+		mapW = w;
+		mapH = h;
+		return moveTo( view.x(), view.y());
+	}
+
+	/**
+	 * center the view on the given bounds.
+	 * @param target - usually bounds of the player.
+	 * @return current instance of this class.
+	 */
+	public Camera follow( RectangleBounds target){
+		return moveTo( target.centerX() - view.w() / 2, target.centerY() - view.h() / 2);
+	}
+
+	/**
+	 * move the top left of the view, clamped so the view does not leave the map.
+	 * @param x - x coordinate of top left.
+	 * @param y - y coordinate of top left.
+	 * @return current instance of this class.
+	 */
+	public Camera moveTo( double x, double y){
+		view.move( clamp( x, mapW - view.w()), clamp( y, mapH - view.h()));
+		return this;
+	}
+
+	private double clamp( double value, double max){
+		return Math.max( 0, Math.min( value, max));
+	}
+
+	/**
+	 * @return x coordinate of top left of the view on the map.
+	 */
+	public double x(){
+		return view.x();
+	}
+
+	/**
+	 * @return y coordinate of top left of the view on the map.
+	 */
+	public double y(){
+		return view.y();
+	}
+
+	/**
+	 * @return the visible area in map coordinates. do not modify, use {@link #moveTo(double, double)}.
+	 */
+	public RectangleBounds getView(){
+		return view;
+	}
+
+	/**
+	 * @param bounds - area in map coordinates.
+	 * @return true if any part of bounds is in the view.
+	 */
+	public boolean isVisible( RectangleBounds bounds){
+		return view.intersects( bounds);
+	}
+}
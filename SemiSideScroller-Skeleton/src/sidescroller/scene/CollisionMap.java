@@ -0,0 +1,133 @@
+package sidescroller.scene;
+
+import sidescroller.entity.property.HitBox;
+import utility.RectangleBounds;
+import utility.Tuple;
+
+/**
+ * <p>
+ * one byte of collision flags per grid cell, filled by {@link MapBuilder} as terrain is built.
+ * cells are stored row by row, count.x() rows and count.y() columns, each cell is size * scale pixels.
+ * cells outside of the grid are {@link #EMPTY}.
+ * </p>
+ * <p>
+ * like {@link RectangleBounds#intersects(RectangleBounds)} touching edges count as overlap.
+ * </p>
+ */
+public class CollisionMap{
+
+	public static final byte EMPTY = 0;
+	/**
+	 * cell is covered by a land mass and blocks from every side.
+	 */
+	public static final byte SOLID = 1;
+	/**
+	 * cell is covered by a one way platform.
+	 */
+	public static final byte PLATFORM = 2;
+
+	private final int rows, cols;
+	private final double cellW, cellH;
+	private final byte[] cells;
+
+	/**
+	 * @param count - number of rows and columns in the grid.
+	 * @param size - width and height of each cell in grid.
+	 * @param scale - a double multiplier for width and height of each grid cell.
+	 */
+	public CollisionMap( Tuple count, Tuple size, double scale){
+		rows = (int) count.x();
+		cols = (int) count.y();
+		cellW = size.x() * scale;
+		cellH = size.y() * scale;
+		cells = new byte[rows * cols];
+	}
+
+	/**
+	 * add the flag to every cell of the given block, cells outside of the grid are ignored.
+	 * @param rowPos - first row from the top.
+	 * @param colPos - first column from the left.
+	 * @param rowCount - number of rows the block covers.
+	 * @param colCount - number of columns the block covers.
+	 * @param flag - {@link #SOLID} or {@link #PLATFORM}.
+	 * @return the current instance of this object.
+	 */
+	public CollisionMap fill( int rowPos, int colPos, int rowCount, int colCount, byte flag){
+		for( int row = Math.max( 0, rowPos); row < Math.min( rows, rowPos + rowCount); row++){
+			for( int col = Math.max( 0, colPos); col < Math.min( cols, colPos + colCount); col++){
+				cells[row * cols + col] |= flag;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * @param row - row of the cell.
+	 * @param col - column of the cell.
+	 * @return flags of the cell, {@link #EMPTY} if outside of the grid.
+	 */
+	public byte get( int row, int col){
+		if( row < 0 || col < 0 || row >= rows || col >= cols)
+			return EMPTY;
+		return cells[row * cols + col];
+	}
+
+	public boolean isSolid( int row, int col){
+		return (get( row, col) & SOLID) != 0;
+	}
+
+	public boolean isPlatform( int row, int col){
+		return (get( row, col) & PLATFORM) != 0;
+	}
+
+	/**
+	 * combine the flags of every cell the given area touches.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @return flags of all touched cells or'ed together, {@link #EMPTY} if nothing is touched.
+	 */
+	public int query( double x, double y, double w, double h){
+		int rowStart = Math.max( 0, (int) Math.ceil( y / cellH) - 1);
+		int rowEnd = Math.min( rows - 1, (int) Math.floor( (y + h) / cellH));
+		int colStart = Math.max( 0, (int) Math.ceil( x / cellW) - 1);
+		int colEnd = Math.min( cols - 1, (int) Math.floor( (x + w) / cellW));
+		int flags = EMPTY;
+		for( int row = rowStart; row <= rowEnd; row++){
+			for( int i = row * cols + colStart, end = row * cols + colEnd; i <= end; i++){
+				flags |= cells[i];
+			}
+		}
+		return flags;
+	}
+
+	/**
+	 * same as {@link #query(double, double, double, double)} but the area covers the hitbox and
+	 * the position it was last translated from.
+	 * @param hitbox - moving hitbox.
+	 * @return flags of all touched cells or'ed together.
+	 */
+	public int query( HitBox hitbox){
+		RectangleBounds b = hitbox.getBounds();
+		Tuple prev = hitbox.getPrev();
+		double x = Math.min( b.x(), prev.x());
+		double y = Math.min( b.y(), prev.y());
+		return query( x, y, Math.max( b.wPos(), prev.x() + b.w()) - x, Math.max( b.hPos(), prev.y() + b.h()) - y);
+	}
+
+	public int rows(){
+		return rows;
+	}
+
+	public int cols(){
+		return cols;
+	}
+
+	/**
+	 * @return memory used by the cells in bytes.
+	 */
+	public int sizeInBytes(){
+		return cells.length;
+	}
+}
@@ -0,0 +1,289 @@
+package sidescroller.scene;
+
+import java.util.Arrays;
+import java.util.List;
+
+import sidescroller.entity.GenericEntity;
+import sidescroller.entity.property.Entity;
+import sidescroller.entity.property.HitBox;
+import utility.RectangleBounds;
+
+/**
+ * <p>
+ * bounds, previous position and velocity of many entities kept in parallel primitive arrays indexed by id,
+ * so update and collision passes are linear scans over a few arrays instead of following
+ * entity, hitbox, bounds and tuple references for every entity.
+ * </p>
+ * <p>
+ * two stores are used. bullets of {@link sidescroller.entity.ProjectilePool} live only in a store and are
+ * moved by {@link #integrate()}. the static shapes of a map are copied into a store for the narrow phase,
+ * their hitboxes stay the source of truth. players are not in a store, they still move and collide
+ * through their own {@link HitBox}.
+ * </p>
+ * <p>
+ * ids run from zero to {@link #size()} - 1. {@link #remove(int)} moves the last entity into the removed id,
+ * so ids are only stable for stores which are never removed from, like the static shapes of a map.
+ * </p>
+ * <p>
+ * {@link #getEntity(int)} gives an {@link Entity} for code which works with objects. if an entity was added
+ * with {@link #add(Entity)} the same object is returned, its hitbox is not updated by this store.
+ * otherwise a view is created on first call, its hitbox is refreshed from the arrays on every call to getHitBox.
+ * </p>
+ */
+public class EntityStore{
+
+	private int size;
+	private double[] x, y, w, h, prevX, prevY, vx, vy;
+	private Entity[] entities;
+
+	public EntityStore(){
+		this( 16);
+	}
+
+	/**
+	 * @param capacity - initial number of entities, arrays grow when full.
+	 */
+	public EntityStore( int capacity){
+		capacity = Math.max( 1, capacity);
+		x = new double[capacity];
+		y = new double[capacity];
+		w = new double[capacity];
+		h = new double[capacity];
+		prevX = new double[capacity];
+		prevY = new double[capacity];
+		vx = new double[capacity];
+		vy = new double[capacity];
+		entities = new Entity[capacity];
+	}
+
+	/**
+	 * add an entity with given bounds and no velocity.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @return id of the new entity.
+	 */
+	public int add( double x, double y, double w, double h){
+		if( size == this.x.length)
+			grow( size * 2);
+		int id = size++;
+		this.x[id] = prevX[id] = x;
+		this.y[id] = prevY[id] = y;
+		this.w[id] = w;
+		this.h[id] = h;
+		vx[id] = vy[id] = 0;
+		entities[id] = null;
+		return id;
+	}
+
+	/**
+	 * add an entity with the bounds of its hitbox, the entity is kept as the view of the new id.
+	 * @param entity - entity with a hitbox.
+	 * @return id of the new entity.
+	 */
+	public int add( Entity entity){
+		RectangleBounds b = entity.getHitBox().getBounds();
+		int id = add( b.x(), b.y(), b.w(), b.h());
+		entities[id] = entity;
+		return id;
+	}
+
+	/**
+	 * add every entity of the list which has a hitbox, in list order.
+	 * @param list - entities to add.
+	 * @return current instance of this class.
+	 */
+	public EntityStore addAll( List< Entity> list){
+		for( Entity e : list){
+			if( e != null && e.hasHitbox() && e.getHitBox() != null)
+				add( e);
+		}
+		return this;
+	}
+
+	/**
+	 * remove an entity by moving the last entity into its id.
+	 * @param id - id to remove.
+	 */
+	public void remove( int id){
+		int last = --size;
+		x[id] = x[last];
+		y[id] = y[last];
+		w[id] = w[last];
+		h[id] = h[last];
+		prevX[id] = prevX[last];
+		prevY[id] = prevY[last];
+		vx[id] = vx[last];
+		vy[id] = vy[last];
+		entities[id] = entities[last];
+		if( entities[id] instanceof View)
+			((View) entities[id]).id = id;
+		entities[last] = null;
+	}
+
+	/**
+	 * remove all entities, capacity is kept.
+	 */
+	public void clear(){
+		Arrays.fill( entities, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * move every entity by its velocity, current position becomes the previous position.
+	 */
+	public void integrate(){
+		for( int i = 0; i < size; i++){
+			prevX[i] = x[i];
+			prevY[i] = y[i];
+			x[i] += vx[i];
+			y[i] += vy[i];
+		}
+	}
+
+	/**
+	 * move an entity back to its previous position.
+	 * @param id - id of entity.
+	 */
+	public void undoMove( int id){
+		x[id] = prevX[id];
+		y[id] = prevY[id];
+	}
+
+	/**
+	 * find every entity touching the given area with a scan over all ids, touching edges count like
+	 * {@link RectangleBounds#intersects(double, double, double, double)}.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @param ids - filled with ids of found entities in increasing order, must hold at least {@link #size()} ids.
+	 * @return number of ids written.
+	 */
+	public int query( double x, double y, double w, double h, int[] ids){
+		int count = 0;
+		for( int i = 0; i < size; i++){
+			if( intersects( i, x, y, w, h))
+				ids[count++] = i;
+		}
+		return count;
+	}
+
+	/**
+	 * @param id - id of entity.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @return true if the entity touches the given area.
+	 */
+	public boolean intersects( int id, double x, double y, double w, double h){
+		return !(x > this.x[id] + this.w[id] || y > this.y[id] + this.h[id] || this.x[id] > x + w || this.y[id] > y + h);
+	}
+
+	public int size(){
+		return size;
+	}
+
+	public int capacity(){
+		return x.length;
+	}
+
+	public double x( int id){
+		return x[id];
+	}
+
+	public double y( int id){
+		return y[id];
+	}
+
+	public double w( int id){
+		return w[id];
+	}
+
+	public double h( int id){
+		return h[id];
+	}
+
+	public double prevX( int id){
+		return prevX[id];
+	}
+
+	public double prevY( int id){
+		return prevY[id];
+	}
+
+	public double vx( int id){
+		return vx[id];
+	}
+
+	public double vy( int id){
+		return vy[id];
+	}
+
+	/**
+	 * @param id - id of entity.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @return current instance of this class.
+	 */
+	public EntityStore setPosition( int id, double x, double y){
+		this.x[id] = prevX[id] = x;
+		this.y[id] = prevY[id] = y;
+		return this;
+	}
+
+	/**
+	 * @param id - id of entity.
+	 * @param vx - distance moved in x by each {@link #integrate()}.
+	 * @param vy - distance moved in y by each {@link #integrate()}.
+	 * @return current instance of this class.
+	 */
+	public EntityStore setVelocity( int id, double vx, double vy){
+		this.vx[id] = vx;
+		this.vy[id] = vy;
+		return this;
+	}
+
+	/**
+	 * @param id - id of entity.
+	 * @return the entity given to {@link #add(Entity)} or a view of the arrays.
+	 */
+	public Entity getEntity( int id){
+		if( entities[id] == null)
+			entities[id] = new View( id);
+		return entities[id];
+	}
+
+	private void grow( int capacity){
+		x = Arrays.copyOf( x, capacity);
+		y = Arrays.copyOf( y, capacity);
+		w = Arrays.copyOf( w, capacity);
+		h = Arrays.copyOf( h, capacity);
+		prevX = Arrays.copyOf( prevX, capacity);
+		prevY = Arrays.copyOf( prevY, capacity);
+		vx = Arrays.copyOf( vx, capacity);
+		vy = Arrays.copyOf( vy, capacity);
+		entities = Arrays.copyOf( entities, capacity);
+	}
+
+	/**
+	 * entity without a sprite whose hitbox follows the arrays.
+	 */
+	private class View extends GenericEntity{
+
+		private int id;
+
+		private View( int id){
+			this.id = id;
+			hitbox = HitBox.build( x[id], y[id], w[id], h[id]);
+		}
+
+		@Override
+		public HitBox getHitBox(){
+			hitbox.getBounds().move( x[id], y[id]).dimension( w[id], h[id]);
+			return hitbox;
+		}
+	}
+}
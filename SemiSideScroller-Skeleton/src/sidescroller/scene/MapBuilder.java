@@ -15,6 +15,7 @@ import sidescroller.entity.sprite.PlatformSprite;
 import sidescroller.entity.sprite.SpriteFactory;
 import sidescroller.entity.sprite.TreeSprite;
 import sidescroller.entity.sprite.tile.Tile;
+import sidescroller.jfr.MapBuildEvent;
 import utility.Tuple;
 
 
@@ -26,6 +27,7 @@ public class MapBuilder implements MapBuilderInterface{
 	private Entity background;
 	private List<Entity> landMass;
 	private List<Entity> other;
+	private CollisionMap collisionMap;
 	
 	
 	protected MapBuilder() {
@@ -47,12 +49,22 @@ public class MapBuilder implements MapBuilderInterface{
 		}
 	
 	public MapBuilder buildLandMass(int rowPos, int colPos, int rowConut, int colCount) {
+		MapBuildEvent event = new MapBuildEvent();
+		event.begin();
 	
-		LandSprite landSprite = SpriteFactory.get("Land");
-		landSprite.init(scale, dimension, Tuple.pair(colPos, rowPos));
-		landSprite.createSnapshot(canvas, rowConut, colCount);
+		LandSprite landSprite = null;
+		if (canvas != null) {
+			landSprite = SpriteFactory.get("Land");
+			landSprite.init(scale, dimension, Tuple.pair(colPos, rowPos));
+			landSprite.createSnapshot(canvas, rowConut, colCount);
+		}
 		HitBox hitBox = HitBox.build(colPos * dimension.x() * scale, rowPos * dimension.y() * scale, scale * dimension.x() * colCount, scale * dimension.y() * rowConut);
 		landMass.add(new GenericEntity(landSprite, hitBox));
+		getCollisionMap().fill(rowPos, colPos, rowConut, colCount, CollisionMap.SOLID);
+		event.end();
+		if (event.shouldCommit()) {
+			event.setStep("land", rowPos, colPos, rowConut * colCount).commit();
+		}
 		return this;
 		}
 	public MapBuilder setGridScale(double scale) {
@@ -62,38 +74,75 @@ public class MapBuilder implements MapBuilderInterface{
 	@Override
 	public MapBuilderInterface buildBackground(BiFunction<Integer, Integer, Tile> callback) {
 		// TODO Auto-generated method stub
+		MapBuildEvent event = new MapBuildEvent();
+		event.begin();
 
-		BackgroundSprite backgroundSprite = SpriteFactory.get("Background");
-		backgroundSprite.init(scale, dimension, Tuple.pair(0, 0));
-		backgroundSprite.createSnapshot(canvas, rowColCount, callback);
+		BackgroundSprite backgroundSprite = null;
+		if (canvas != null) {
+			backgroundSprite = SpriteFactory.get("Background");
+			backgroundSprite.init(scale, dimension, Tuple.pair(0, 0));
+			backgroundSprite.createSnapshot(canvas, rowColCount, callback);
+		}
 		HitBox hitBox = HitBox.build(0, 0, scale * dimension.x() * rowColCount.y(), scale * dimension.y() * rowColCount.x());
 		background = new GenericEntity(backgroundSprite, hitBox);
 	
+		event.end();
+		if (event.shouldCommit()) {
+			event.setStep("background", 0, 0, (int) (rowColCount.x() * rowColCount.y())).commit();
+		}
 		return this;
 	}
 	@Override
 	public MapBuilderInterface buildTree(int rowPos, int colPos, Tile tile) {
 		// TODO Auto-generated method stub
 
+		// a tree without a sprite has nothing left to simulate
+		if (canvas == null) {
+			return this;
+		}
+		MapBuildEvent event = new MapBuildEvent();
+		event.begin();
 		TreeSprite treeSprite = SpriteFactory.get("Tree");
 		treeSprite.init(scale, dimension, Tuple.pair( colPos, rowPos));
 		treeSprite.createSnapshot(canvas, tile);
 		other.add(new GenericEntity(treeSprite, null));
 		
+		event.end();
+		if (event.shouldCommit()) {
+			event.setStep("tree", rowPos, colPos, (int) (tile.count().x() * tile.count().y())).commit();
+		}
 		return this;
 	}
 	@Override
 	public MapBuilderInterface buildPlatform(int rowPos, int colPos, int length, Tile tile) {
 		// TODO Auto-generated method stub
+		MapBuildEvent event = new MapBuildEvent();
+		event.begin();
 	
-		PlatformSprite platformSprite = SpriteFactory.get("Platform");
-		platformSprite.init(scale, dimension, Tuple.pair( colPos, rowPos));
-		platformSprite.createSnapshot(canvas, tile, length);
+		PlatformSprite platformSprite = null;
+		if (canvas != null) {
+			platformSprite = SpriteFactory.get("Platform");
+			platformSprite.init(scale, dimension, Tuple.pair( colPos, rowPos));
+			platformSprite.createSnapshot(canvas, tile, length);
+		}
 		HitBox hitBox = HitBox.build((colPos + .5) * dimension.x() * scale, rowPos * dimension.y() * scale, scale * dimension.x() * (length - 1), scale * dimension.y() / 2);
 		other.add(new GenericEntity(platformSprite, hitBox));
+		getCollisionMap().fill(rowPos, colPos, 1, length, CollisionMap.PLATFORM);
+		event.end();
+		if (event.shouldCommit()) {
+			event.setStep("platform", rowPos, colPos, length).commit();
+		}
 		return this;
 	}
 	@Override
+	public CollisionMap getCollisionMap() {
+		// grid and scale are set separately so the map is created on first use
+		if (collisionMap == null) {
+			collisionMap = new CollisionMap(rowColCount, dimension, scale);
+		}
+		return collisionMap;
+	}
+	@Override
 	public Entity getBackground() {
 		// TODO Auto-generated method stub
 		return background;
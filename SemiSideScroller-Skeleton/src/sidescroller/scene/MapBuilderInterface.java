@@ -33,7 +33,8 @@ public interface MapBuilderInterface{
 
 	/**
 	 * set the canvas which this builder will use.
-	 * @param canvas - instance of canvas.
+	 * if canvas is null no sprites are created, only the entities and their hitboxes.
+	 * @param canvas - instance of canvas, or null for a headless map.
 	 * @return the current instance of this object.
 	 */
 	MapBuilderInterface setCanvas( Canvas canvas);
@@ -139,6 +140,13 @@ public interface MapBuilderInterface{
 	 */
 	MapBuilderInterface buildPlatform( int rowPos, int colPos, int length, Tile tile);
 
+	/**
+	 * land masses mark their cells as {@link CollisionMap#SOLID} and platforms mark theirs as {@link CollisionMap#PLATFORM}.
+	 * must be called after {@link #setGrid(Tuple, Tuple)} and {@link #setGridScale(double)}.
+	 * @return the collision flags of every grid cell built so far.
+	 */
+	CollisionMap getCollisionMap();
+
 	/**
 	 * @return the background Entity.
 	 */
@@ -8,8 +8,12 @@ import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.scene.canvas.Canvas;
 import sidescroller.animator.AnimatorInterface;
+import sidescroller.entity.ProjectilePool;
 import sidescroller.entity.property.Entity;
 import sidescroller.entity.property.HitBox;
+import sidescroller.entity.property.Sprite;
+import sidescroller.entity.sprite.Assets;
+import sidescroller.entity.sprite.TextureAtlas;
 import sidescroller.entity.sprite.tile.BackgroundTile;
 import sidescroller.entity.sprite.tile.FloraTile;
 import sidescroller.entity.sprite.tile.PlatformTile;
@@ -26,6 +30,20 @@ public class MapScene implements MapSceneInterface {
 	private BooleanProperty drawFPS;
 	private BooleanProperty drawGrid;
 	private Entity background;
+	private SpatialHash staticIndex;
+	private EntityStore staticStore;
+	private ProjectilePool projectiles;
+	/**
+	 * most bullets alive at the same time.
+	 */
+	private static final int PROJECTILE_CAPACITY = 16384;
+	private CollisionMap collisionMap;
+	private Camera camera;
+	private long mapVersion;
+	/**
+	 * the layout in {@link #buildMap(MapBuilder)} is this many columns wide and repeats to fill the map.
+	 */
+	private static final int SEGMENT_COLS = 35;
 
 	public MapScene() {
 		drawBounds = new SimpleBooleanProperty(true);
@@ -73,6 +91,8 @@ public class MapScene implements MapSceneInterface {
 		this.count = count;
 		this.size = size;
 		this.scale = scale;
+		projectiles = new ProjectilePool(PROJECTILE_CAPACITY, scale);
+		mapChanged();
 
 		return this;
 	}
@@ -138,6 +158,23 @@ public class MapScene implements MapSceneInterface {
 		// TODO Auto-generated method stub
 		MapBuilder mb = MapBuilder.createBuilder();
 		mb.setCanvas(canvas).setGrid(count, size).setGridScale(scale);
+		buildMap(mb);
+		camera = new Camera(canvas.getWidth(), canvas.getHeight()).setLimits(getMapWidth(), getMapHeight());
+		mapChanged();
+		return this;
+	}
+
+	@Override
+	public MapSceneInterface createHeadlessScene() {
+		MapBuilder mb = MapBuilder.createBuilder();
+		mb.setCanvas(null).setGrid(count, size).setGridScale(scale);
+		buildMap(mb);
+		camera = new Camera(getMapWidth(), getMapHeight());
+		mapChanged();
+		return this;
+	}
+
+	private void buildMap(MapBuilder mb) {
 //		mb.buildBackground((Integer i1, Integer i2) -> BackgroundTile.EVENING_CLOUD);
 //		this.background = mb.getBackground();
 		mb.buildBackground((Integer row, Integer col) -> {
@@ -155,20 +192,110 @@ public class MapScene implements MapSceneInterface {
 
 		this.background = mb.getBackground();
 
-		mb.buildLandMass(5, 5, 9, 6);
-		mb.buildTree(3, 7, FloraTile.SUNFLOWER_LONG);
-		mb.buildTree(3, 7, FloraTile.GRASS_FULL);
-		mb.buildTree(4, 7, FloraTile.GRASS_FULL);
-		mb.buildTree(3, 17, FloraTile.TREE_DEAD);
-		mb.buildLandMass(10, 11, 4, 5);
-		mb.buildLandMass(8, 16, 6, 8);
-		mb.buildLandMass(7, 24, 7, 6);
-		mb.buildTree(0, 24, FloraTile.TREE);
-		mb.buildPlatform(5, 14, 3, PlatformTile.STONE);
+		for (int col = 0; col + SEGMENT_COLS <= count.y(); col += SEGMENT_COLS) {
+			buildSegment(mb, col);
+		}
 		
 		mb.getEntities(staticShapes);
+		staticStore = new EntityStore(staticShapes.size()).addAll(staticShapes);
+		staticIndex = new SpatialHash(count, size, scale).build(staticStore);
+		collisionMap = mb.getCollisionMap();
+	}
 
-		return this;
+	private void buildSegment(MapBuilder mb, int col) {
+		mb.buildLandMass(5, col + 5, 9, 6);
+		mb.buildTree(3, col + 7, FloraTile.SUNFLOWER_LONG);
+		mb.buildTree(3, col + 7, FloraTile.GRASS_FULL);
+		mb.buildTree(4, col + 7, FloraTile.GRASS_FULL);
+		mb.buildTree(3, col + 17, FloraTile.TREE_DEAD);
+		mb.buildLandMass(10, col + 11, 4, 5);
+		mb.buildLandMass(8, col + 16, 6, 8);
+		mb.buildLandMass(7, col + 24, 7, 6);
+		mb.buildTree(0, col + 24, FloraTile.TREE);
+		mb.buildPlatform(5, col + 14, 3, PlatformTile.STONE);
+	}
+
+	private double getMapWidth() {
+		return count.y() * size.x() * scale;
+	}
+
+	private double getMapHeight() {
+		return count.x() * size.y() * scale;
+	}
+
+	@Override
+	public long getMapVersion() {
+		return mapVersion;
+	}
+
+	@Override
+	public void mapChanged() {
+		mapVersion++;
+	}
+
+	@Override
+	public Camera getCamera() {
+		return camera;
+	}
+
+	@Override
+	public CollisionMap getCollisionMap() {
+		return collisionMap;
+	}
+
+	@Override
+	public List<Entity> queryStaticShapes(HitBox hitbox, List<Entity> list) {
+		if (staticIndex == null) {
+			list.clear();
+			list.addAll(staticShapes);
+			return list;
+		}
+		return staticIndex.query(hitbox, list);
+	}
+
+	@Override
+	public ProjectilePool getProjectiles() {
+		return projectiles;
+	}
+
+	@Override
+	public EntityStore getStaticStore() {
+		return staticStore;
+	}
+
+	@Override
+	public int queryStaticIds(HitBox hitbox, int[] ids) {
+		return staticIndex.query(hitbox, ids);
+	}
+
+	@Override
+	public String memoryReport() {
+		StringBuilder report = new StringBuilder();
+		List<Entity> entities = new ArrayList<>();
+		entities.add(background);
+		entities.addAll(staticShapes);
+		long total = 0, untrimmed = 0;
+		for (Entity e : entities) {
+			if (e == null || !(e.getDrawable() instanceof Sprite)) {
+				continue;
+			}
+			Sprite sprite = (Sprite) e.getDrawable();
+			report.append(String.format("%-16s %,12d bytes, untrimmed %,12d bytes%n", sprite.getClass().getSimpleName(),
+					sprite.getSnapshotBytes(), sprite.getUntrimmedBytes()));
+			total += sprite.getSnapshotBytes();
+			untrimmed += sprite.getUntrimmedBytes();
+		}
+		report.append(String.format("%-16s %,12d bytes, untrimmed %,12d bytes%n", "total", total, untrimmed));
+		if (animator != null) {
+			report.append(String.format("%-16s %,12d bytes, baked from the snapshots above%n", "cached layers",
+					animator.getCachedLayerBytes()));
+		}
+		if (Assets.hasAtlas()) {
+			TextureAtlas atlas = Assets.atlas();
+			report.append(String.format("%-16s %,12d bytes, %d pages, sources %,12d bytes%n", "atlas", atlas.getBytes(),
+					atlas.pageCount(), atlas.getSourceBytes()));
+		}
+		return report.toString();
 	}
 
 	@Override
@@ -177,4 +304,9 @@ public class MapScene implements MapSceneInterface {
 
 		return background.getHitBox().containsBounds(hitbox);
 	}
+
+	@Override
+	public boolean inMap(double x, double y, double w, double h) {
+		return background.getHitBox().getBounds().contains(x, y, w, h);
+	}
 }
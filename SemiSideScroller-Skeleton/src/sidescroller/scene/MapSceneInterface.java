@@ -4,6 +4,7 @@ import java.util.List;
 import javafx.beans.property.BooleanProperty;
 import javafx.scene.canvas.Canvas;
 import sidescroller.animator.AnimatorInterface;
+import sidescroller.entity.ProjectilePool;
 import sidescroller.entity.property.Entity;
 import sidescroller.entity.property.HitBox;
 import utility.Tuple;
@@ -103,6 +104,58 @@ public interface MapSceneInterface{
 	 */
 	List< Entity> staticShapes();
 
+	/**
+	 * pass a list which will be cleared then populated by the static shapes which might touch the given hitbox.
+	 * static shapes are indexed in a {@link SpatialHash} when the scene is created, before that all static shapes are returned.
+	 * @param hitbox - hitbox of a moving entity.
+	 * @param list - a list to be populated by candidates, in the same order as {@link #staticShapes()}.
+	 * @return the populated list.
+	 */
+	List< Entity> queryStaticShapes( HitBox hitbox, List< Entity> list);
+
+	/**
+	 * @return bounds of static shapes with a hitbox in primitive arrays, ids match {@link #queryStaticIds(HitBox, int[])}.
+	 * a copy made when the scene is created, the shapes keep their own hitboxes.
+	 * null before {@link #createScene(Canvas)} or {@link #createHeadlessScene()}.
+	 */
+	EntityStore getStaticStore();
+
+	/**
+	 * same as {@link #queryStaticShapes(HitBox, List)} but ids of {@link #getStaticStore()} are returned.
+	 * only valid when the static store is not null.
+	 * @param hitbox - hitbox of a moving entity.
+	 * @param ids - filled with ids in increasing order, must hold at least {@link EntityStore#size()} ids.
+	 * @return number of ids written.
+	 */
+	int queryStaticIds( HitBox hitbox, int[] ids);
+
+	/**
+	 * @return collision flags per grid cell of the terrain built in {@link #createScene(Canvas)}, null before that.
+	 */
+	CollisionMap getCollisionMap();
+
+	/**
+	 * @return a number which changes every time the static content of the map changes. used to know when
+	 * anything drawn once from the background or static shapes must be drawn again.
+	 */
+	long getMapVersion();
+
+	/**
+	 * call after changing the background or {@link #staticShapes()} outside of {@link #createScene(Canvas)}.
+	 */
+	void mapChanged();
+
+	/**
+	 * @return view of the map shown on the canvas, created by {@link #createScene(Canvas)} or
+	 * {@link #createHeadlessScene()}, null before that.
+	 */
+	Camera getCamera();
+
+	/**
+	 * @return bullets of the map, created again by {@link #setRowAndCol(Tuple, Tuple, double)}.
+	 */
+	ProjectilePool getProjectiles();
+
 	/**
 	 * @return players list.
 	 */
@@ -125,9 +178,33 @@ public interface MapSceneInterface{
 	 */
 	MapSceneInterface createScene( Canvas canvas);
 
+	/**
+	 * same layout as {@link #createScene(Canvas)} but without any sprites or snapshots.
+	 * only entities and their hitboxes are created so the map can be simulated without
+	 * a {@link Canvas} or the FX thread.
+	 * @return current instance of this class.
+	 */
+	MapSceneInterface createHeadlessScene();
+
+	/**
+	 * @return one line per sprite of background and static shapes with the memory used by its snapshot, plus the total
+	 * the layers cached by the animator and the texture atlas if it is packed.
+	 */
+	String memoryReport();
+
 	/**
 	 * @param hitbox - hitbox of an entity to check it is it still in background bounds.
 	 * @return true of hitbox of background containsBouns of argument.
 	 */
 	boolean inMap( HitBox hitbox);
+
+	/**
+	 * same as {@link #inMap(HitBox)} for an area given by its top left, width and height.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @return true if background contains the area.
+	 */
+	boolean inMap( double x, double y, double w, double h);
 }
@@ -0,0 +1,228 @@
+package sidescroller.scene;
+
+import java.util.Arrays;
+import java.util.List;
+
+import sidescroller.entity.property.Entity;
+import sidescroller.entity.property.HitBox;
+import utility.RectangleBounds;
+import utility.Tuple;
+
+/**
+ * <p>
+ * uniform grid broadphase for entities that never move. cells match the tile grid of the map, so a
+ * cell is size * scale pixels wide and there are count.x() rows and count.y() columns.
+ * entities are indexed once by {@link #build(EntityStore)} and stored per cell as ids in one flat array.
+ * </p>
+ * <p>
+ * like {@link RectangleBounds#intersects(RectangleBounds)} touching edges count as overlap, so an entity
+ * whose edge lies on a cell border is also stored in the neighboring cell.
+ * </p>
+ */
+public class SpatialHash{
+
+	private final int rows, cols;
+	private final double cellW, cellH;
+
+	/**
+	 * all indexed entities, ids of this store are the indices kept in cells.
+	 */
+	private EntityStore store;
+	/**
+	 * entity indices of cell i are stored in cellItems[cellStart[i]] to cellItems[cellStart[i+1]-1].
+	 */
+	private int[] cellStart;
+	private int[] cellItems;
+	/**
+	 * query scratch space, stamp is used to skip entities already found in another cell.
+	 */
+	private int[] stamps;
+	private int stamp;
+	private int[] found;
+
+	/**
+	 * @param count - number of rows and columns in the grid.
+	 * @param size - width and height of each cell in grid.
+	 * @param scale - a double multiplier for width and height of each grid cell.
+	 */
+	public SpatialHash( Tuple count, Tuple size, double scale){
+		rows = Math.max( 1, (int) count.x());
+		cols = Math.max( 1, (int) count.y());
+		cellW = size.x() * scale;
+		cellH = size.y() * scale;
+		build( new EntityStore());
+	}
+
+	/**
+	 * index all entities in the list which have a hitbox. the list order is kept by queries.
+	 * @param list - entities to index.
+	 * @return the current instance of this object.
+	 */
+	public SpatialHash build( List< Entity> list){
+		return build( new EntityStore( list.size()).addAll( list));
+	}
+
+	/**
+	 * index all entities of the store by their current bounds, ids are returned by queries.
+	 * the store must not change until the next build.
+	 * @param store - entities to index.
+	 * @return the current instance of this object.
+	 */
+	public SpatialHash build( EntityStore store){
+		this.store = store;
+		int size = store.size();
+		int[] range = new int[4];
+		cellStart = new int[rows * cols + 1];
+		for( int i = 0; i < size; i++){
+			cellRange( store, i, range);
+			for( int row = range[0]; row <= range[1]; row++){
+				for( int col = range[2]; col <= range[3]; col++){
+					cellStart[row * cols + col + 1]++;
+				}
+			}
+		}
+		for( int i = 1; i < cellStart.length; i++){
+			cellStart[i] += cellStart[i - 1];
+		}
+		cellItems = new int[cellStart[cellStart.length - 1]];
+		int[] fill = Arrays.copyOf( cellStart, cellStart.length - 1);
+		for( int i = 0; i < size; i++){
+			cellRange( store, i, range);
+			for( int row = range[0]; row <= range[1]; row++){
+				for( int col = range[2]; col <= range[3]; col++){
+					cellItems[fill[row * cols + col]++] = i;
+				}
+			}
+		}
+		stamps = new int[size];
+		found = new int[size];
+		stamp = 0;
+		return this;
+	}
+
+	/**
+	 * @return number of entities in the index.
+	 */
+	public int size(){
+		return store.size();
+	}
+
+	/**
+	 * @return the store indexed by last {@link #build(EntityStore)}.
+	 */
+	public EntityStore getStore(){
+		return store;
+	}
+
+	/**
+	 * pass a list which will be cleared then populated by indexed entities that might touch the given area.
+	 * entities are added in the same order as they were given to {@link #build(List)}.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @param list - a list to be populated by candidates.
+	 * @return the populated list.
+	 */
+	public List< Entity> query( double x, double y, double w, double h, List< Entity> list){
+		list.clear();
+		int count = collect( x, y, w, h);
+		for( int i = 0; i < count; i++){
+			list.add( store.getEntity( found[i]));
+		}
+		return list;
+	}
+
+	/**
+	 * same as {@link #query(double, double, double, double, List)} but ids of the store are returned.
+	 * @param x - x coordinate of top left
+	 * @param y - y coordinate of top left
+	 * @param w - width
+	 * @param h - height
+	 * @param ids - filled with ids in increasing order, must hold at least {@link #size()} ids.
+	 * @return number of ids written.
+	 */
+	public int query( double x, double y, double w, double h, int[] ids){
+		int count = collect( x, y, w, h);
+		System.arraycopy( found, 0, ids, 0, count);
+		return count;
+	}
+
+	/**
+	 * store the sorted ids of candidates in found.
+	 * @return number of candidates.
+	 */
+	private int collect( double x, double y, double w, double h){
+		if( ++stamp == 0){
+			Arrays.fill( stamps, 0);
+			stamp = 1;
+		}
+		int rowStart = clampRow( Math.ceil( y / cellH) - 1);
+		int rowEnd = clampRow( Math.floor( (y + h) / cellH));
+		int colStart = clampCol( Math.ceil( x / cellW) - 1);
+		int colEnd = clampCol( Math.floor( (x + w) / cellW));
+		int count = 0;
+		for( int row = rowStart; row <= rowEnd; row++){
+			for( int col = colStart; col <= colEnd; col++){
+				int cell = row * cols + col;
+				for( int i = cellStart[cell]; i < cellStart[cell + 1]; i++){
+					int item = cellItems[i];
+					if( stamps[item] != stamp){
+						stamps[item] = stamp;
+						found[count++] = item;
+					}
+				}
+			}
+		}
+		Arrays.sort( found, 0, count);
+		return count;
+	}
+
+	/**
+	 * same as {@link #query(double, double, double, double, List)} but the area covers the hitbox and
+	 * the position it was last translated from, so undoing the last move never leaves the candidates.
+	 * @param hitbox - moving hitbox.
+	 * @param list - a list to be populated by candidates.
+	 * @return the populated list.
+	 */
+	public List< Entity> query( HitBox hitbox, List< Entity> list){
+		RectangleBounds b = hitbox.getBounds();
+		Tuple prev = hitbox.getPrev();
+		double x = Math.min( b.x(), prev.x());
+		double y = Math.min( b.y(), prev.y());
+		double w = Math.max( b.wPos(), prev.x() + b.w()) - x;
+		double h = Math.max( b.hPos(), prev.y() + b.h()) - y;
+		return query( x, y, w, h, list);
+	}
+
+	/**
+	 * same as {@link #query(HitBox, List)} but ids of the store are returned.
+	 * @param hitbox - moving hitbox.
+	 * @param ids - filled with ids in increasing order, must hold at least {@link #size()} ids.
+	 * @return number of ids written.
+	 */
+	public int query( HitBox hitbox, int[] ids){
+		RectangleBounds b = hitbox.getBounds();
+		Tuple prev = hitbox.getPrev();
+		double x = Math.min( b.x(), prev.x());
+		double y = Math.min( b.y(), prev.y());
+		double w = Math.max( b.wPos(), prev.x() + b.w()) - x;
+		double h = Math.max( b.hPos(), prev.y() + b.h()) - y;
+		return query( x, y, w, h, ids);
+	}
+
+	private void cellRange( EntityStore store, int id, int[] range){
+		range[0] = clampRow( Math.ceil( store.y( id) / cellH) - 1);
+		range[1] = clampRow( Math.floor( (store.y( id) + store.h( id)) / cellH));
+		range[2] = clampCol( Math.ceil( store.x( id) / cellW) - 1);
+		range[3] = clampCol( Math.floor( (store.x( id) + store.w( id)) / cellW));
+	}
+
+	private int clampRow( double row){
+		return (int) Math.max( 0, Math.min( rows - 1, row));
+	}
+
+	private int clampCol( double col){
+		return (int) Math.max( 0, Math.min( cols - 1, col));
+	}
+}
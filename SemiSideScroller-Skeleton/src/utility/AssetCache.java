@@ -0,0 +1,156 @@
+package utility;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>
+ * a cache of decoded assets keyed by path, so each asset is loaded once no matter how many objects use it.
+ * every {@link #acquire(String)} must be paired with a {@link #release(String)} when the asset is no longer needed.
+ * </p>
+ * <p>
+ * released assets stay cached. if a memory cap is set the least recently used assets which are not
+ * acquired by anyone are evicted until the cache fits under the cap. acquired assets are never evicted,
+ * so the cache can go over the cap if everything is in use.
+ * </p>
+ *
+ * @param <T> - type of the cached asset.
+ */
+public class AssetCache< T>{
+
+	private static class Entry< T>{
+		private final T asset;
+		private final long bytes;
+		private int references;
+
+		private Entry( T asset, long bytes){
+			this.asset = asset;
+			this.bytes = bytes;
+		}
+	}
+
+	private final Function< String, T> loader;
+	private final ToLongFunction< T> sizeOf;
+	/**
+	 * access ordered, the first entry is the least recently used.
+	 */
+	private final Map< String, Entry< T>> entries = new LinkedHashMap<>( 16, .75f, true);
+	private long cap = Long.MAX_VALUE;
+	private long bytes, hits, misses, evictions;
+
+	/**
+	 * @param loader - decodes the asset at given path.
+	 * @param sizeOf - memory used by a decoded asset in bytes.
+	 */
+	public AssetCache( Function< String, T> loader, ToLongFunction< T> sizeOf){
+		this.loader = Objects.requireNonNull( loader, "loader cannot be null");
+		this.sizeOf = Objects.requireNonNull( sizeOf, "sizeOf cannot be null");
+	}
+
+	/**
+	 * get the asset at given path, loading it if it is not cached, and add one reference to it.
+	 * @param path - path of the asset.
+	 * @return the decoded asset.
+	 */
+	public synchronized T acquire( String path){
+		Entry< T> entry = entries.get( path);
+		if( entry == null){
+			misses++;
+			T asset = loader.apply( path);
+			entry = new Entry<>( asset, sizeOf.applyAsLong( asset));
+			entries.put( path, entry);
+			bytes += entry.bytes;
+		}else{
+			hits++;
+		}
+		entry.references++;
+		evict();
+		return entry.asset;
+	}
+
+	/**
+	 * remove one reference from the asset at given path.
+	 * @param path - path of the asset.
+	 * @throws IllegalStateException if the asset is not acquired.
+	 */
+	public synchronized void release( String path){
+		Entry< T> entry = entries.get( path);
+		if( entry == null || entry.references == 0)
+			throw new IllegalStateException( "asset is not acquired: " + path);
+		entry.references--;
+		evict();
+	}
+
+	/**
+	 * @param cap - max bytes to keep for assets which are not acquired, {@link Long#MAX_VALUE} for no cap.
+	 * @return the current instance of this object.
+	 */
+	public synchronized AssetCache< T> setMemoryCap( long cap){
+		if( cap < 0)
+			throw new IllegalArgumentException( "cap cannot be negative: " + cap);
+		this.cap = cap;
+		evict();
+		return this;
+	}
+
+	/**
+	 * drop every asset which is not acquired.
+	 */
+	public synchronized void clear(){
+		entries.values().removeIf( e -> {
+			if( e.references > 0)
+				return false;
+			bytes -= e.bytes;
+			return true;
+		});
+	}
+
+	private void evict(){
+		Iterator< Entry< T>> it = entries.values().iterator();
+		while( bytes > cap && it.hasNext()){
+			Entry< T> e = it.next();
+			if( e.references == 0){
+				it.remove();
+				bytes -= e.bytes;
+				evictions++;
+			}
+		}
+	}
+
+	public synchronized boolean isCached( String path){
+		return entries.containsKey( path);
+	}
+
+	public synchronized int size(){
+		return entries.size();
+	}
+
+	/**
+	 * @return total bytes of all cached assets.
+	 */
+	public synchronized long getBytes(){
+		return bytes;
+	}
+
+	public synchronized long getHits(){
+		return hits;
+	}
+
+	public synchronized long getMisses(){
+		return misses;
+	}
+
+	public synchronized long getEvictions(){
+		return evictions;
+	}
+
+	@Override
+	public synchronized String toString(){
+		return String.format( "assets: %d, bytes: %d, hits: %d, misses: %d, evictions: %d", entries.size(), bytes, hits, misses,
+				evictions);
+	}
+}
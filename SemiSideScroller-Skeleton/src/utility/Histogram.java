@@ -0,0 +1,145 @@
+package utility;
+
+/**
+ * <p>
+ * a fixed memory histogram of positive long values such as durations in nanoseconds. values below
+ * {@link #SUB_BUCKETS} are counted exactly, above that each power of two is split in {@link #SUB_BUCKETS}
+ * buckets, so a percentile is off by at most 1/16 of its value. count, min, max and sum are exact.
+ * </p>
+ * <p>
+ * recording and reading never allocate, so it is safe to use every frame.
+ * not thread safe.
+ * </p>
+ */
+public class Histogram{
+
+	public static final int SUB_BUCKETS = 16;
+	private static final int SUB_BITS = 4;
+	private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+	private final long[] counts = new long[BUCKETS];
+	private long count, sum, min = Long.MAX_VALUE, max;
+
+	/**
+	 * @param value - a positive value, negative values are counted as zero.
+	 */
+	public void record( long value){
+		if( value < 0)
+			value = 0;
+		counts[bucket( value)]++;
+		count++;
+		sum += value;
+		if( value < min)
+			min = value;
+		if( value > max)
+			max = value;
+	}
+
+	/**
+	 * remove all recorded values.
+	 */
+	public void reset(){
+		for( int i = 0; i < BUCKETS; i++)
+			counts[i] = 0;
+		count = sum = max = 0;
+		min = Long.MAX_VALUE;
+	}
+
+	/**
+	 * replace the values of this histogram with values of other.
+	 * @param other - histogram to copy.
+	 * @return current instance of this class.
+	 */
+	public Histogram copyFrom( Histogram other){
+		System.arraycopy( other.counts, 0, counts, 0, BUCKETS);
+		count = other.count;
+		sum = other.sum;
+		min = other.min;
+		max = other.max;
+		return this;
+	}
+
+	/**
+	 * @param percentile - between 0 and 100.
+	 * @return the highest value of the bucket holding given percentile, clamped to min and max.
+	 * zero if empty.
+	 */
+	public long percentile( double percentile){
+		if( count == 0)
+			return 0;
+		if( percentile <= 0)
+			return min;
+		long rank = Math.max( 1, (long) Math.ceil( percentile / 100 * count));
+		long seen = 0;
+		for( int i = 0; i < BUCKETS; i++){
+			seen += counts[i];
+			if( seen >= rank)
+				return Math.max( min, Math.min( max, highest( i)));
+		}
+		return max;
+	}
+
+	/**
+	 * @param threshold - values strictly above this are counted.
+	 * @return number of recorded values above threshold, exact only if threshold is on a bucket edge
+	 * otherwise the whole bucket holding threshold is considered below it.
+	 */
+	public long countAbove( long threshold){
+		if( threshold < 0)
+			return count;
+		long above = 0;
+		for( int i = bucket( threshold) + 1; i < BUCKETS; i++)
+			above += counts[i];
+		return above;
+	}
+
+	/**
+	 * @return number of recorded values.
+	 */
+	public long count(){
+		return count;
+	}
+
+	/**
+	 * @return smallest recorded value, zero if empty.
+	 */
+	public long min(){
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * @return largest recorded value, zero if empty.
+	 */
+	public long max(){
+		return max;
+	}
+
+	/**
+	 * @return average of recorded values, zero if empty.
+	 */
+	public double mean(){
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	private static int bucket( long value){
+		if( value < SUB_BUCKETS)
+			return (int) value;
+		int exp = 63 - Long.numberOfLeadingZeros( value);
+		int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	private static long highest( int bucket){
+		if( bucket < SUB_BUCKETS)
+			return bucket;
+		int exp = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exp - SUB_BITS);
+		return lowest + (1L << (exp - SUB_BITS)) - 1;
+	}
+
+	@Override
+	public String toString(){
+		return String.format( "count=%d, min=%d, mean=%.1f, p50=%d, p95=%d, p99=%d, max=%d", count(), min(), mean(),
+				percentile( 50), percentile( 95), percentile( 99), max());
+	}
+}
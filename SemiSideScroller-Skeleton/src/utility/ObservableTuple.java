@@ -0,0 +1,109 @@
+package utility;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * a {@link Tuple} backed by {@link DoubleProperty} so x and y can be observed and bound, for example by a label.
+ * it can be passed anywhere a {@link Tuple} is expected. only use it where binding is needed, every set goes
+ * through the property and its listeners, and each instance still carries the unused x and y of {@link Tuple}.
+ * 
+ * <pre>
+ * ObservableTuple pos = new ObservableTuple();
+ * label.textProperty().bind( pos.xProperty().asString( "x: %.0f"));
+ * sprite.setCoord( pos);
+ * </pre>
+ */
+public class ObservableTuple extends Tuple{
+
+	/**
+	 * {@link DoubleProperty} value of x and y
+	 */
+	private final DoubleProperty x, y;
+
+	/**
+	 * create a new tuple at (0,0)
+	 */
+	public ObservableTuple(){
+		this( 0, 0);
+	}
+
+	/**
+	 * create a new tuple with given x and y
+	 * @param x - value of x
+	 * @param y - value of y
+	 */
+	public ObservableTuple( double x, double y){
+		this.x = new SimpleDoubleProperty( x);
+		this.y = new SimpleDoubleProperty( y);
+	}
+
+	/**
+	 * create a new tuple from given tuple
+	 */
+	public ObservableTuple( Tuple p){
+		this( p.x(), p.y());
+	}
+
+	public ObservableTuple bind( ObservableTuple p){
+		x.bind( p.x);
+		y.bind( p.y);
+		return this;
+	}
+
+	public ObservableTuple unbind(){
+		x.unbind();
+		y.unbind();
+		return this;
+	}
+
+	public ObservableTuple bindBidirectional( ObservableTuple p){
+		x.bindBidirectional( p.x);
+		y.bindBidirectional( p.y);
+		return this;
+	}
+
+	public ObservableTuple unbindBidirectional( ObservableTuple p){
+		x.unbindBidirectional( p.x);
+		y.unbindBidirectional( p.y);
+		return this;
+	}
+
+	@Override
+	public double x(){
+		return x.get();
+	}
+
+	/**
+	 * get the {@link DoubleProperty} of x value
+	 * @return {@link DoubleProperty} of x value
+	 */
+	public DoubleProperty xProperty(){
+		return x;
+	}
+
+	@Override
+	public double y(){
+		return y.get();
+	}
+
+	/**
+	 * get the {@link DoubleProperty} of y value
+	 * @return {@link DoubleProperty} of y value
+	 */
+	public DoubleProperty yProperty(){
+		return y;
+	}
+
+	@Override
+	public Tuple x( double x){
+		this.x.set( x);
+		return this;
+	}
+
+	@Override
+	public Tuple y( double y){
+		this.y.set( y);
+		return this;
+	}
+}
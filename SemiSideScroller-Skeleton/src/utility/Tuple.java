@@ -1,12 +1,9 @@
 package utility;
 
-import java.util.Objects;
-
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.SimpleDoubleProperty;
-
 /**
- * this class represent a tuple of x and y. it is back by {@link DoubleProperty}.
+ * this class represent a tuple of x and y backed by plain doubles. it is used on every hot path such as
+ * {@link RectangleBounds}, hitboxes and sprite coordinates so it carries no listener machinery.
+ * if a value needs to be observed or bound, for example by a UI label, use {@link ObservableTuple}.
  * it also also capable of producing random tuples.
  * 
  * @author Shahriar (Shawn) Emami
@@ -15,27 +12,14 @@ import javafx.beans.property.SimpleDoubleProperty;
 public class Tuple{
 
 	/**
-	 * {@link DoubleProperty} value of x and y
+	 * value of x and y
 	 */
-	private DoubleProperty x, y;
+	private double x, y;
 
 	/**
 	 * create a new tuple at (0,0)
 	 */
 	public Tuple(){
-		this( new SimpleDoubleProperty(), new SimpleDoubleProperty());
-	}
-
-	/**
-	 * create a new tuple with {@link DoubleProperty} for x and y
-	 * @param x - value of x
-	 * @param y - value of y
-	 */
-	private Tuple( DoubleProperty x, DoubleProperty y){
-		Objects.requireNonNull( x, "x property cannot be null");
-		Objects.requireNonNull( y, "y property cannot be null");
-		this.x = x;
-		this.y = y;
 	}
 
 	/**
@@ -44,7 +28,8 @@ public class Tuple{
 	 * @param y - value of y
 	 */
 	public Tuple( double x, double y){
-		this( new SimpleDoubleProperty( x), new SimpleDoubleProperty( y));
+		this.x = x;
+		this.y = y;
 	}
 
 	public static Tuple pair( double a, double b){
@@ -58,30 +43,6 @@ public class Tuple{
 		this( p.x(), p.y());
 	}
 
-	public Tuple bind( Tuple p){
-		x.bind( p.x);
-		y.bind( p.y);
-		return this;
-	}
-
-	public Tuple unbind(){
-		x.unbind();
-		y.unbind();
-		return this;
-	}
-
-	public Tuple bindBidirectional( Tuple p){
-		x.bindBidirectional( p.x);
-		y.bindBidirectional( p.y);
-		return this;
-	}
-
-	public Tuple unbindBidirectional( Tuple p){
-		x.unbindBidirectional( p.x);
-		y.unbindBidirectional( p.y);
-		return this;
-	}
-
 	/**
 	 * translate the tuple to a new location by the given distance
 	 * @param dx - amount to move in x direction
@@ -124,14 +85,6 @@ public class Tuple{
 	 * @return value of x
 	 */
 	public double x(){
-		return x.get();
-	}
-
-	/**
-	 * get the {@link DoubleProperty} of x value
-	 * @return {@link DoubleProperty} of x value
-	 */
-	public DoubleProperty xProperty(){
 		return x;
 	}
 
@@ -140,14 +93,6 @@ public class Tuple{
 	 * @return value of y
 	 */
 	public double y(){
-		return y.get();
-	}
-
-	/**
-	 * get the {@link DoubleProperty} of y value
-	 * @return {@link DoubleProperty} of y value
-	 */
-	public DoubleProperty yProperty(){
 		return y;
 	}
 
@@ -157,7 +102,7 @@ public class Tuple{
 	 * @return return the current instance of this tuple
 	 */
 	public Tuple x( double x){
-		this.x.set( x);
+		this.x = x;
 		return this;
 	}
 
@@ -167,7 +112,7 @@ public class Tuple{
 	 * @return return the current instance of this tuple
 	 */
 	public Tuple y( double y){
-		this.y.set( y);
+		this.y = y;
 		return this;
 	}
 
@@ -222,8 +167,8 @@ public class Tuple{
 	public int hashCode(){
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + Double.hashCode( (x == null) ? 0 : x());
-		result = prime * result + Double.hashCode( (y == null) ? 0 : y());
+		result = prime * result + Double.hashCode( x());
+		result = prime * result + Double.hashCode( y());
 		return result;
 	}
 
@@ -241,19 +186,7 @@ public class Tuple{
 		if( !(obj instanceof Tuple))
 			return false;
 		Tuple other = (Tuple) obj;
-		if( x == null){
-			if( other.x != null)
-				return false;
-		}else if( x.get() != other.x.get()){
-			return false;
-		}
-		if( y == null){
-			if( other.y != null)
-				return false;
-		}else if( y.get() != other.y.get()){
-			return false;
-		}
-		return true;
+		return x() == other.x() && y() == other.y();
 	}
 
 	@Override
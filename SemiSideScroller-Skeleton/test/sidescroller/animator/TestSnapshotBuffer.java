@@ -0,0 +1,95 @@
+package sidescroller.animator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import sidescroller.HeadlessRunner;
+import sidescroller.scene.MapSceneInterface;
+
+public class TestSnapshotBuffer{
+
+	@Test
+	public void testLatestWins(){
+		MapSceneInterface map = new HeadlessRunner( 2).getMapScene();
+		SnapshotBuffer buffer = new SnapshotBuffer();
+		assertNull( buffer.latest());
+		buffer.back().capture( map, 1, null);
+		buffer.publish();
+		buffer.back().capture( map, 2, null);
+		buffer.publish();
+		WorldSnapshot latest = buffer.latest();
+		assertEquals( 2, latest.tick());
+		assertEquals( 2, latest.playerCount());
+		assertSame( latest, buffer.latest());
+		assertNotSame( latest, buffer.back());
+	}
+
+	@Test
+	@Timeout( value = 30, unit = TimeUnit.SECONDS)
+	public void testReaderNeverSeesWrites() throws InterruptedException{
+		MapSceneInterface map = new HeadlessRunner( 1).getMapScene();
+		SnapshotBuffer buffer = new SnapshotBuffer();
+		long ticks = 200_000;
+		Thread writer = new Thread( () -> {
+			for( long t = 1; t <= ticks; t++){
+				buffer.back().capture( map, t, null);
+				buffer.publish();
+			}
+		});
+		writer.start();
+		long last = 0;
+		while( last < ticks){
+			// read the state before the snapshot, so a dead writer is only reported once its last tick was seen
+			boolean alive = writer.isAlive();
+			WorldSnapshot s = buffer.latest();
+			if( s == null || s.tick() == last){
+				assertTrue( alive, "writer stopped at tick " + last);
+				Thread.onSpinWait();
+				continue;
+			}
+			long tick = s.tick();
+			assertTrue( tick >= last);
+			Thread.onSpinWait();
+			assertEquals( tick, s.tick());
+			last = tick;
+		}
+		writer.join();
+	}
+
+	@Test
+	public void testSimulationThread() throws InterruptedException{
+		MapSceneInterface map = new HeadlessRunner( 1).getMapScene();
+		Simulation simulation = new Simulation( map);
+		SnapshotBuffer buffer = new SnapshotBuffer();
+		SimulationThread thread = new SimulationThread( simulation, buffer,
+				s -> s.capture( map, simulation.getTick(), null), 1_000_000, 5);
+		thread.start();
+		Thread.sleep( 100);
+		thread.stop();
+		assertTrue( simulation.getTick() > 0);
+		assertEquals( simulation.getTick(), buffer.latest().tick());
+		assertNotSame( thread.getProfiler(), simulation.getProfiler());
+		assertTrue( thread.getProfiler().frames() > 0);
+	}
+
+	@Test
+	public void testAnimatorReportsThreadProfile() throws InterruptedException{
+		Animator animator = new Animator();
+		animator.setMapScene( new HeadlessRunner( 1).getMapScene());
+		assertSame( animator.getProfiler(), animator.getSimulationProfiler());
+		animator.startThread();
+		Thread.sleep( 200);
+		animator.stopThread();
+		assertNotSame( animator.getProfiler(), animator.getSimulationProfiler());
+		assertTrue( animator.getSimulationProfiler().frames() > 0);
+		assertEquals( 0, animator.getProfiler().frames());
+	}
+}
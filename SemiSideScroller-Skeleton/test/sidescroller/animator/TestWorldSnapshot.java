@@ -0,0 +1,44 @@
+package sidescroller.animator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import sidescroller.HeadlessRunner;
+import sidescroller.entity.player.Player;
+import utility.Tuple;
+
+public class TestWorldSnapshot{
+
+	@Test
+	public void testBlendBetweenTicks(){
+		HeadlessRunner runner = new HeadlessRunner( 1);
+		// the script runs right from the first tick, let the player land first
+		runner.run( 60);
+		Player player = (Player) runner.getMapScene().players().get( 0);
+		Tuple before = Tuple.pair( player.getPosition().x(), player.getPosition().y());
+		runner.step();
+		Tuple after = player.getPosition();
+		WorldSnapshot snapshot = new WorldSnapshot();
+		snapshot.capture( runner.getMapScene(), runner.getTick(), null);
+		assertEquals( before.x(), snapshot.playerX( 0, 0), 1e-9);
+		assertEquals( before.y(), snapshot.playerY( 0, 0), 1e-9);
+		assertEquals( after.x(), snapshot.playerX( 0, 1), 1e-9);
+		assertEquals( after.y(), snapshot.playerY( 0, 1), 1e-9);
+		assertEquals( (before.x() + after.x()) / 2, snapshot.playerX( 0, .5), 1e-9);
+		assertEquals( snapshot.boundsX( 0) - snapshot.playerX( 0), snapshot.boundsX( 0, .25) - snapshot.playerX( 0, .25), 1e-9);
+	}
+
+	@Test
+	public void testBulletBlend(){
+		HeadlessRunner runner = new HeadlessRunner( 1);
+		int id = runner.getMapScene().getProjectiles().fire( 100, 20, 4, 0, 0);
+		runner.step();
+		WorldSnapshot snapshot = new WorldSnapshot();
+		snapshot.capture( runner.getMapScene(), runner.getTick(), null);
+		double x = runner.getMapScene().getProjectiles().getStore().x( id);
+		assertEquals( x - 4, snapshot.bulletX( id, 0), 1e-9);
+		assertEquals( x - 2, snapshot.bulletX( id, .5), 1e-9);
+		assertEquals( x, snapshot.bulletX( id, 1), 1e-9);
+	}
+}
@@ -0,0 +1,67 @@
+package sidescroller.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import sidescroller.scene.MapScene;
+import sidescroller.scene.MapSceneInterface;
+import utility.Tuple;
+
+public class TestProjectilePool{
+
+	private MapSceneInterface map;
+	private ProjectilePool pool;
+
+	@BeforeEach
+	public void setup(){
+		map = new MapScene();
+		map.setRowAndCol( Tuple.pair( 12, 35), Tuple.pair( 16, 16), 2);
+		map.createHeadlessScene();
+		pool = new ProjectilePool( 4, 2);
+	}
+
+	@Test
+	public void testMoveInAir(){
+		int id = pool.fire( 100, 20, 5, 0, 0);
+		pool.move();
+		pool.collide( map);
+		assertEquals( 1, pool.size());
+		assertEquals( 100 + 5 - 13, pool.getStore().x( id), 0);
+	}
+
+	@Test
+	public void testRecycleOutOfMap(){
+		pool.fire( 100, 20, 0, 0, 0);
+		pool.fire( 3, 20, -10, 0, 1);
+		pool.move();
+		pool.collide( map);
+		assertEquals( 1, pool.size());
+		assertEquals( 1, pool.getRecycled());
+		assertEquals( 0, pool.getStore().vx( 0), 0);
+	}
+
+	@Test
+	public void testRecycleInTerrain(){
+		pool.fire( 200, 250, 0, 0, 2);
+		pool.collide( map);
+		assertEquals( 0, pool.size());
+	}
+
+	@Test
+	public void testFullPoolDrops(){
+		for( int i = 0; i < pool.capacity(); i++)
+			assertEquals( i, pool.fire( 100, 20, 0, 0, 0));
+		assertEquals( -1, pool.fire( 100, 20, 0, 0, 0));
+		assertEquals( 1, pool.getDropped());
+		pool.clear();
+		assertEquals( 0, pool.fire( 100, 20, 0, 0, 0));
+	}
+
+	@Test
+	public void testStressRefills(){
+		pool.setStress( 3, 4).collide( map);
+		assertEquals( 3, pool.size());
+	}
+}
@@ -0,0 +1,85 @@
+package sidescroller.entity.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestInputLatency{
+
+	@Test
+	public void testEachEventDrawnOnce(){
+		InputLatency latency = new InputLatency();
+		InputLatency.Pending snapshot = new InputLatency.Pending();
+		latency.consumed( 100, 150);
+		latency.consumed( 120, 150);
+		latency.capture( snapshot);
+		latency.drawn( snapshot, 200);
+		latency.drawn( snapshot, 300);
+		assertEquals( 2, latency.getToUpdate().count());
+		assertEquals( 2, latency.getToDraw().count());
+		assertEquals( 80, latency.getToDraw().min());
+		assertEquals( 100, latency.getToDraw().max());
+		latency.capture( snapshot);
+		assertEquals( 0, snapshot.count());
+	}
+
+	@Test
+	public void testSkippedSnapshotKeepsEvents(){
+		InputLatency latency = new InputLatency();
+		InputLatency.Pending skipped = new InputLatency.Pending(), drawn = new InputLatency.Pending();
+		latency.consumed( 100, 150);
+		latency.capture( skipped);
+		latency.consumed( 200, 250);
+		latency.capture( drawn);
+		assertEquals( 2, drawn.count());
+		latency.drawn( drawn, 300);
+		// an older snapshot drawn late records nothing again
+		latency.drawn( skipped, 400);
+		assertEquals( 2, latency.getToDraw().count());
+		assertEquals( 200, latency.getToDraw().max());
+	}
+
+	@Test
+	public void testNothingPending(){
+		InputLatency latency = new InputLatency();
+		InputLatency.Pending snapshot = new InputLatency.Pending();
+		latency.capture( snapshot);
+		latency.drawn( snapshot, 200);
+		assertEquals( 0, latency.getToDraw().count());
+		latency.consumed( 100, 150);
+		latency.reset();
+		latency.capture( snapshot);
+		latency.drawn( snapshot, 200);
+		assertEquals( 0, latency.getToDraw().count());
+	}
+
+	@Test
+	public void testFlightRecorderEventOnDraw( @TempDir Path folder) throws IOException{
+		InputLatency latency = new InputLatency();
+		InputLatency.Pending snapshot = new InputLatency.Pending();
+		Path file = folder.resolve( "latency.jfr");
+		try( Recording recording = new Recording()){
+			recording.enable( "sidescroller.InputLatency");
+			recording.start();
+			latency.consumed( 100, 150);
+			latency.capture( snapshot);
+			latency.drawn( snapshot, 400);
+			latency.drawn( snapshot, 500);
+			recording.stop();
+			recording.dump( file);
+		}
+		List< RecordedEvent> events = RecordingFile.readAllEvents( file);
+		assertEquals( 1, events.size());
+		assertEquals( 50, events.get( 0).getDuration( "toUpdate").toNanos());
+		assertEquals( 300, events.get( 0).getDuration( "toFrame").toNanos());
+	}
+}
@@ -0,0 +1,103 @@
+package sidescroller.entity.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import javafx.event.Event;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import utility.InputAdapter;
+
+public class TestInputQueue{
+
+	@Test
+	public void testCapacityIsPowerOfTwo(){
+		assertEquals( 2, new InputQueue( 1).capacity());
+		assertEquals( 256, new InputQueue( 256).capacity());
+		assertEquals( 512, new InputQueue( 257).capacity());
+	}
+
+	@Test
+	public void testFifoAndDropWhenFull(){
+		InputQueue queue = new InputQueue( 4);
+		for( int i = 0; i < 4; i++)
+			assertTrue( queue.offer( InputQueue.KEY_PRESSED, i, 0, 0, 100 + i));
+		assertFalse( queue.offer( InputQueue.KEY_PRESSED, 4, 0, 0, 104));
+		assertEquals( 1, queue.getDropped());
+		for( int i = 0; i < 4; i++){
+			assertTrue( queue.poll());
+			assertEquals( i, queue.code());
+			assertEquals( 100 + i, queue.time());
+		}
+		assertFalse( queue.poll());
+		assertTrue( queue.offer( InputQueue.KEY_RELEASED, 9, 1, 2, 200));
+		assertEquals( 1, queue.size());
+	}
+
+	@Test
+	@Timeout( value = 30, unit = TimeUnit.SECONDS)
+	public void testOneProducerOneConsumer() throws InterruptedException{
+		InputQueue queue = new InputQueue( 64);
+		int events = 20_000;
+		Thread producer = new Thread( () -> {
+			for( int i = 0; i < events; i++){
+				while( !queue.offer( InputQueue.MOUSE_MOVED, i, i, -i, i))
+					Thread.onSpinWait();
+			}
+		});
+		producer.start();
+		int expected = 0;
+		while( expected < events){
+			if( queue.poll()){
+				assertEquals( expected, queue.code());
+				assertEquals( expected, queue.x(), 0);
+				assertEquals( -expected, queue.y(), 0);
+				assertEquals( expected, queue.time());
+				expected++;
+			}else{
+				Thread.onSpinWait();
+			}
+		}
+		producer.join();
+		assertFalse( queue.poll());
+	}
+
+	@Test
+	public void testPressAndReleaseBetweenTicks(){
+		Canvas canvas = new Canvas();
+		PlayerInput input = new PlayerInput( new InputAdapter( canvas));
+		Event.fireEvent( canvas, key( KeyEvent.KEY_PRESSED, KeyCode.SPACE));
+		Event.fireEvent( canvas, key( KeyEvent.KEY_RELEASED, KeyCode.SPACE));
+		assertFalse( input.isSpace());
+		input.drain();
+		assertTrue( input.isSpace());
+		assertTrue( input.consumeEventTime() > 0);
+		input.drain();
+		assertFalse( input.isSpace());
+		assertEquals( 0, input.consumeEventTime());
+	}
+
+	@Test
+	public void testHeldAcrossTicks(){
+		Canvas canvas = new Canvas();
+		PlayerInput input = new PlayerInput( new InputAdapter( canvas));
+		Event.fireEvent( canvas, key( KeyEvent.KEY_PRESSED, KeyCode.D));
+		input.drain();
+		input.drain();
+		assertEquals( 1, input.leftOrRight());
+		Event.fireEvent( canvas, key( KeyEvent.KEY_RELEASED, KeyCode.D));
+		input.drain();
+		assertEquals( 0, input.leftOrRight());
+	}
+
+	private static KeyEvent key( javafx.event.EventType< KeyEvent> type, KeyCode code){
+		return new KeyEvent( type, "", "", code, false, false, false, false);
+	}
+}
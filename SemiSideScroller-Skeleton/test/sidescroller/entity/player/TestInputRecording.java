@@ -0,0 +1,82 @@
+package sidescroller.entity.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javafx.scene.input.KeyCode;
+import sidescroller.HeadlessRunner;
+
+public class TestInputRecording{
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void testSaveAndLoad() throws IOException{
+		InputRecording recording = new InputRecording( 2);
+		for( int i = 0; i < 100; i++)
+			recording.record( i < 60 ? 3 : 16, 1.5, i < 90 ? 2 : 7);
+		Path file = dir.resolve( "input.bin");
+		recording.save( file);
+		// three runs of ticks instead of one hundred ticks
+		assertEquals( 4 + 2 + 4 + 4 + 3 * (4 + 2 + 8 + 8), Files.size( file));
+		InputRecording loaded = InputRecording.load( file);
+		assertEquals( 100, loaded.ticks());
+		for( int i = 0; i < 100; i++){
+			assertTrue( loaded.hasNext());
+			loaded.next();
+			assertEquals( i < 60 ? 3 : 16, loaded.state());
+			assertEquals( i < 90 ? 2 : 7, loaded.y(), 0);
+		}
+		assertFalse( loaded.hasNext());
+		loaded.next();
+		assertEquals( 0, loaded.state());
+	}
+
+	@Test
+	public void testNotARecording() throws IOException{
+		Path file = dir.resolve( "bad.bin");
+		Files.write( file, new byte[]{ 1, 2, 3, 4, 5, 6 });
+		assertThrows( IOException.class, () -> InputRecording.load( file));
+	}
+
+	@Test
+	public void testReplayGivesSameState(){
+		PlayerInput input = new PlayerInput();
+		InputRecording recording = new InputRecording();
+		input.setRecording( recording);
+		input.setKey( KeyCode.D, true).drain();
+		input.setKey( KeyCode.SPACE, true).drain();
+		input.setKey( KeyCode.D, false).drain();
+		PlayerInput replay = new PlayerInput().setReplay( recording);
+		replay.drain();
+		assertEquals( 1, replay.leftOrRight());
+		replay.drain();
+		assertTrue( replay.isSpace());
+		replay.drain();
+		assertEquals( 0, replay.leftOrRight());
+	}
+
+	@Test
+	public void testReplayMatchesRecordedRun(){
+		HeadlessRunner recorded = new HeadlessRunner( 1);
+		InputRecording recording = new InputRecording();
+		recorded.record( recording);
+		recorded.run( 2000);
+		HeadlessRunner replayed = new HeadlessRunner( 1);
+		replayed.replay( recording);
+		replayed.run( 2000);
+		Player a = (Player) recorded.getMapScene().players().get( 0);
+		Player b = (Player) replayed.getMapScene().players().get( 0);
+		assertEquals( a.getPosition(), b.getPosition());
+	}
+}
@@ -0,0 +1,90 @@
+package sidescroller.entity.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import sidescroller.entity.player.PlayerHitBox.Direction;
+import sidescroller.entity.property.HitBox;
+
+public class TestPlayerHitBox{
+
+	private PlayerHitBox player;
+	private HitBox ground;
+
+	@BeforeEach
+	public void setup(){
+		player = new PlayerHitBox();
+		player.setBounds( 100, 100, 32, 32);
+		ground = HitBox.build( 0, 140, 400, 64);
+	}
+
+	@Test
+	public void testLandingHitsBottom(){
+		player.translate( 2, 10);
+		assertTrue( player.intersectBounds( ground));
+		assertEquals( List.of( Direction.BOTTOM), player.getIntersectDirection());
+		assertTrue( player.isDirection( Direction.BOTTOM));
+		assertFalse( player.isDirection( Direction.LEFT));
+	}
+
+	@Test
+	public void testUndoOnlyRevertsHitAxis(){
+		player.translate( 2, 10);
+		player.intersectBounds( ground);
+		player.undoTranslate();
+		assertEquals( 102, player.getBounds().x());
+		assertEquals( 100, player.getBounds().y());
+	}
+
+	@Test
+	public void testMissClearsDirections(){
+		player.translate( 2, 10);
+		player.intersectBounds( ground);
+		assertFalse( player.intersectBounds( HitBox.build( 0, 0, 10, 10)));
+		assertTrue( player.getIntersectDirection().isEmpty());
+		assertEquals( 0, player.getDirectionMask());
+	}
+
+	@Test
+	public void testWallHitsSide(){
+		HitBox wall = HitBox.build( 140, 0, 32, 400);
+		player.translate( 10, 0);
+		assertTrue( player.intersectBounds( wall));
+		assertEquals( List.of( Direction.RIGHT), player.getIntersectDirection());
+		player.undoTranslate();
+		assertEquals( 100, player.getBounds().x());
+	}
+
+	@Test
+	public void testCollisionDoesNotAllocate(){
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long id = Thread.currentThread().getId();
+		int hits = cycle( 20_000);
+		long before = threads.getThreadAllocatedBytes( id);
+		hits += cycle( 100_000);
+		long allocated = threads.getThreadAllocatedBytes( id) - before;
+		assertTrue( hits > 0);
+		// allow a little slack for the measurement itself
+		assertTrue( allocated < 1024, "allocated " + allocated + " bytes in 100,000 checks");
+	}
+
+	private int cycle( int count){
+		int hits = 0;
+		for( int i = 0; i < count; i++){
+			player.translate( 0, 10);
+			if( player.intersectBounds( ground)){
+				hits += player.getIntersectDirection().size();
+				player.undoTranslate();
+			}
+			player.translate( 0, -10);
+		}
+		return hits;
+	}
+}
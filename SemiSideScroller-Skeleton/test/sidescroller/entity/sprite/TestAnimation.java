@@ -0,0 +1,54 @@
+package sidescroller.entity.sprite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import sidescroller.entity.sprite.tile.Samurai;
+
+public class TestAnimation{
+
+	private static final int RED = 0xffff0000;
+	private static final int BLUE = 0xff0000ff;
+
+	private Animation animation;
+
+	@BeforeEach
+	public void setup(){
+		// 4 frames of 20x20, the left column of frame i is red and the rest is blue with i in its alpha
+		WritableImage strip = new WritableImage( 80, 20);
+		for( int x = 0; x < 80; x++)
+			for( int y = 0; y < 20; y++)
+				strip.getPixelWriter().setArgb( x, y, x % 20 == 0 ? RED : BLUE - (x / 20 << 24));
+		animation = Animation.slice( strip, 0, 0, Samurai.RUN, 2);
+	}
+
+	@Test
+	public void testSlice(){
+		assertEquals( 4, animation.frames());
+		Image frame = animation.get( 2, false);
+		assertEquals( 40, frame.getWidth());
+		assertEquals( 40, frame.getHeight());
+		assertEquals( RED, frame.getPixelReader().getArgb( 1, 39));
+		assertEquals( BLUE - (2 << 24), frame.getPixelReader().getArgb( 2, 0));
+	}
+
+	@Test
+	public void testMirrored(){
+		Image frame = animation.get( 1, true);
+		assertEquals( RED, frame.getPixelReader().getArgb( 39, 0));
+		assertEquals( BLUE - (1 << 24), frame.getPixelReader().getArgb( 0, 0));
+	}
+
+	@Test
+	public void testFrameAt(){
+		assertEquals( 0, animation.frameAt( 0));
+		assertEquals( 0, animation.frameAt( Animation.TICKS_PER_FRAME - 1));
+		assertEquals( 1, animation.frameAt( Animation.TICKS_PER_FRAME));
+		assertEquals( 3, animation.frameAt( Animation.TICKS_PER_FRAME * 4 - 1));
+		assertEquals( 0, animation.frameAt( Animation.TICKS_PER_FRAME * 4));
+	}
+}
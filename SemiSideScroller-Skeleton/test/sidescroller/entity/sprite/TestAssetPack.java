@@ -0,0 +1,94 @@
+package sidescroller.entity.sprite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javafx.scene.image.Image;
+
+public class TestAssetPack{
+
+	@TempDir
+	Path folder;
+
+	private static BufferedImage image( int w, int h, int... argb){
+		BufferedImage image = new BufferedImage( w, h, BufferedImage.TYPE_INT_ARGB);
+		image.setRGB( 0, 0, w, h, argb, 0, w);
+		return image;
+	}
+
+	@Test
+	public void testKey(){
+		assertEquals( "tiles/Tilesv2.png", AssetPack.key( Assets.TILE_MAP));
+		assertEquals( "bullet/b_1.png", AssetPack.key( "file:assets/bullet/b_1.png"));
+	}
+
+	@Test
+	public void testWriteAndOpen() throws IOException{
+		Map< String, BufferedImage> images = new HashMap<>();
+		images.put( "a/one.png", image( 2, 1, 0xffff0000, 0x00000000));
+		images.put( "two.png", image( 1, 2, 0xff00ff00, 0xff0000ff));
+		Path pack = folder.resolve( "assets.pack");
+		AssetPack.write( images, pack);
+		AssetPack opened = AssetPack.open( pack);
+		assertEquals( 2, opened.names().size());
+		assertTrue( opened.contains( "a/one.png"));
+		assertFalse( opened.contains( "one.png"));
+		Image one = opened.image( "a/one.png");
+		assertEquals( 2, one.getWidth());
+		assertEquals( 1, one.getHeight());
+		assertEquals( 0xffff0000, one.getPixelReader().getArgb( 0, 0));
+		assertEquals( 0, one.getPixelReader().getArgb( 1, 0));
+		Image two = opened.image( "two.png");
+		assertEquals( 0xff0000ff, two.getPixelReader().getArgb( 0, 1));
+		assertThrows( IllegalArgumentException.class, () -> opened.image( "three.png"));
+	}
+
+	@Test
+	public void testTranslucentIsPremultiplied() throws IOException{
+		Map< String, BufferedImage> images = new HashMap<>();
+		images.put( "half.png", image( 1, 1, 0x80ff8000));
+		Path pack = folder.resolve( "assets.pack");
+		AssetPack.write( images, pack);
+		// red 255 * 128 / 255 = 128 and green 128 * 128 / 255 = 64 are stored
+		byte[] bytes = Files.readAllBytes( pack);
+		int pixel = bytes.length - 4;
+		assertEquals( 0, bytes[pixel]);
+		assertEquals( 64, bytes[pixel + 1]);
+		assertEquals( (byte) 128, bytes[pixel + 2]);
+		assertEquals( (byte) 0x80, bytes[pixel + 3]);
+		int argb = AssetPack.open( pack).image( "half.png").getPixelReader().getArgb( 0, 0);
+		assertEquals( 0x80, argb >>> 24);
+		assertEquals( 0xff, argb >> 16 & 0xff);
+	}
+
+	@Test
+	public void testWriteFolder() throws IOException{
+		Files.createDirectories( folder.resolve( "assets/bullet"));
+		ImageIO.write( image( 1, 1, 0xff123456), "png", folder.resolve( "assets/bullet/b_1.png").toFile());
+		Files.write( folder.resolve( "assets/Credit.txt"), new byte[]{ 1});
+		Path pack = folder.resolve( "assets.pack");
+		assertEquals( 1, AssetPack.write( folder.resolve( "assets"), pack));
+		assertEquals( 0xff123456, AssetPack.open( pack).image( "bullet/b_1.png").getPixelReader().getArgb( 0, 0));
+	}
+
+	@Test
+	public void testNotAPack() throws IOException{
+		Path file = folder.resolve( "bad.pack");
+		Files.write( file, new byte[]{ 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+		assertThrows( IOException.class, () -> AssetPack.open( file));
+	}
+}
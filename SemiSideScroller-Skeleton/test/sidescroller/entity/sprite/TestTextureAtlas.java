@@ -0,0 +1,110 @@
+package sidescroller.entity.sprite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import sidescroller.entity.sprite.TextureAtlas.Region;
+import sidescroller.entity.sprite.tile.BulletTile;
+import sidescroller.entity.sprite.tile.HeartTile;
+import sidescroller.entity.sprite.tile.LandTile;
+import sidescroller.entity.sprite.tile.Samurai;
+
+public class TestTextureAtlas{
+
+	/**
+	 * image where every pixel holds its own x and y, so copied pixels show where they came from.
+	 */
+	private static WritableImage image( int w, int h, int id){
+		WritableImage image = new WritableImage( w, h);
+		for( int x = 0; x < w; x++)
+			for( int y = 0; y < h; y++)
+				image.getPixelWriter().setArgb( x, y, 0xff000000 | id << 16 | y << 8 | x);
+		return image;
+	}
+
+	private static int source( Region region, int x, int y){
+		return region.image().getPixelReader().getArgb( region.x() + x, region.y() + y);
+	}
+
+	@Test
+	public void testRegions(){
+		TextureAtlas atlas = new TextureAtlas( 256, 1)
+				.add( image( 48, 112, 1), LandTile.GRASS, LandTile.DIRT_RIGHT)
+				.add( image( 80, 20, 2), Samurai.RUN)
+				.add( image( 13, 5, 3), BulletTile.B_1)
+				.pack();
+		assertEquals( 1, atlas.pageCount());
+		Region grass = atlas.get( LandTile.GRASS);
+		assertEquals( 16, grass.w());
+		assertEquals( 16, grass.h());
+		// GRASS is row 3 and column 1 of the sheet
+		assertEquals( 0xff010000 | 48 << 8 | 16, source( grass, 0, 0));
+		// DIRT_RIGHT is row 5 and column 2
+		assertEquals( 0xff010000 | 85 << 8 | 36, source( atlas.get( LandTile.DIRT_RIGHT), 4, 5));
+		Region run = atlas.get( Samurai.RUN);
+		assertEquals( 80, run.w());
+		assertEquals( 0xff020000 | 19 << 8 | 79, source( run, 79, 19));
+		assertEquals( 0xff030000 | 4 << 8 | 12, source( atlas.get( BulletTile.B_1), 12, 4));
+		assertTrue( atlas.contains( Samurai.RUN));
+		assertFalse( atlas.contains( Samurai.IDLE));
+		assertThrows( IllegalArgumentException.class, () -> atlas.get( HeartTile.FULL));
+	}
+
+	@Test
+	public void testPaddingAndTrim(){
+		TextureAtlas atlas = new TextureAtlas( 256, 2)
+				.add( image( 36, 32, 1), HeartTile.FULL)
+				.add( image( 36, 32, 2), HeartTile.HALF)
+				.pack();
+		Region full = atlas.get( HeartTile.FULL), half = atlas.get( HeartTile.HALF);
+		assertEquals( 38, Math.abs( half.x() - full.x()));
+		assertEquals( 36 * 2 + 2, atlas.page( 0).getWidth());
+		assertEquals( 32, atlas.page( 0).getHeight());
+		assertEquals( 0, atlas.page( 0).getPixelReader().getArgb( 37, 0));
+		assertEquals( 4L * 74 * 32, atlas.getBytes());
+		assertEquals( 4L * 36 * 32 * 2, atlas.getSourceBytes());
+	}
+
+	@Test
+	public void testPages(){
+		TextureAtlas atlas = new TextureAtlas( 40, 1)
+				.add( image( 36, 32, 1), HeartTile.FULL)
+				.add( image( 36, 32, 2), HeartTile.HALF)
+				.add( image( 13, 5, 3), BulletTile.B_1)
+				.pack();
+		assertEquals( 2, atlas.pageCount());
+		Image first = atlas.get( HeartTile.FULL).image(), second = atlas.get( HeartTile.HALF).image();
+		assertTrue( first != second);
+		// the bullet fits on the shelf below the last heart
+		assertSame( second, atlas.get( BulletTile.B_1).image());
+		assertEquals( 33, atlas.get( BulletTile.B_1).y());
+	}
+
+	@Test
+	public void testBadInput(){
+		TextureAtlas atlas = new TextureAtlas( 32, 1);
+		assertThrows( IllegalArgumentException.class, () -> atlas.add( image( 36, 32, 1), HeartTile.FULL));
+		assertThrows( IllegalArgumentException.class, () -> atlas.add( image( 20, 20, 1), Samurai.RUN));
+		atlas.add( image( 13, 5, 1), BulletTile.B_1).pack();
+		assertThrows( IllegalStateException.class, () -> atlas.add( image( 13, 5, 1), BulletTile.B_2));
+	}
+
+	@Test
+	public void testSliceFromPage(){
+		TextureAtlas atlas = new TextureAtlas( 256, 1)
+				.add( image( 36, 32, 1), HeartTile.EMPTY)
+				.add( image( 40, 20, 2), Samurai.JUMP)
+				.pack();
+		Region jump = atlas.get( Samurai.JUMP);
+		Animation animation = Animation.slice( jump.image(), jump.x(), jump.y(), Samurai.JUMP, 1);
+		assertEquals( 2, animation.frames());
+		assertEquals( 0xff020000 | 3 << 8 | 25, animation.get( 1, false).getPixelReader().getArgb( 5, 3));
+	}
+}
@@ -0,0 +1,91 @@
+package sidescroller.scene;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import sidescroller.entity.GenericEntity;
+import sidescroller.entity.property.Entity;
+import sidescroller.entity.property.HitBox;
+import utility.RectangleBounds;
+
+public class TestEntityStore{
+
+	private EntityStore store;
+
+	@BeforeEach
+	public void setup(){
+		store = new EntityStore( 2);
+	}
+
+	@Test
+	public void testGrowsPastCapacity(){
+		for( int i = 0; i < 10; i++)
+			assertEquals( i, store.add( i * 10, 0, 5, 5));
+		assertEquals( 10, store.size());
+		assertEquals( 90, store.x( 9), 0);
+	}
+
+	@Test
+	public void testIntegrateAndUndo(){
+		int id = store.add( 10, 20, 5, 5);
+		store.setVelocity( id, 3, -2).integrate();
+		assertEquals( 13, store.x( id), 0);
+		assertEquals( 18, store.y( id), 0);
+		assertEquals( 10, store.prevX( id), 0);
+		store.undoMove( id);
+		assertEquals( 10, store.x( id), 0);
+		assertEquals( 20, store.y( id), 0);
+	}
+
+	@Test
+	public void testQueryScansInIdOrder(){
+		store.add( 0, 0, 10, 10);
+		store.add( 100, 100, 10, 10);
+		store.add( 5, 5, 10, 10);
+		int[] ids = new int[store.size()];
+		int count = store.query( 8, 8, 1, 1, ids);
+		assertEquals( 2, count);
+		assertArrayEquals( new int[]{ 0, 2}, new int[]{ ids[0], ids[1]});
+		// touching edges count as overlap like RectangleBounds
+		assertEquals( 1, store.query( 110, 110, 5, 5, ids));
+	}
+
+	@Test
+	public void testRemoveMovesLast(){
+		store.add( 0, 0, 1, 1);
+		store.add( 50, 0, 1, 1);
+		store.add( 90, 0, 1, 1);
+		Entity view = store.getEntity( 2);
+		store.remove( 0);
+		assertEquals( 2, store.size());
+		assertEquals( 90, store.x( 0), 0);
+		assertSame( view, store.getEntity( 0));
+		assertEquals( 90, view.getHitBox().getBounds().x(), 0);
+	}
+
+	@Test
+	public void testViewFollowsArrays(){
+		int id = store.add( 10, 10, 4, 4);
+		Entity view = store.getEntity( id);
+		store.setVelocity( id, 5, 0).integrate();
+		assertEquals( new RectangleBounds( 15, 10, 4, 4), view.getHitBox().getBounds());
+	}
+
+	@Test
+	public void testAddedEntityIsItsOwnView(){
+		List< Entity> list = new ArrayList<>();
+		list.add( new GenericEntity( null, HitBox.build( 1, 2, 3, 4)));
+		list.add( new GenericEntity( null, null));
+		store.addAll( list);
+		assertEquals( 1, store.size());
+		assertSame( list.get( 0), store.getEntity( 0));
+		assertEquals( 3, store.w( 0), 0);
+	}
+}
@@ -0,0 +1,80 @@
+package sidescroller.scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import sidescroller.entity.GenericEntity;
+import sidescroller.entity.property.Entity;
+import sidescroller.entity.property.HitBox;
+import utility.Tuple;
+
+public class TestSpatialHash{
+
+	private SpatialHash hash;
+	private List< Entity> statics, result;
+
+	@BeforeEach
+	public void setup(){
+		// 10 rows by 20 columns of 32x32 cells
+		hash = new SpatialHash( Tuple.pair( 10, 20), Tuple.pair( 16, 16), 2);
+		statics = new ArrayList<>();
+		statics.add( new GenericEntity( null, HitBox.build( 0, 0, 64, 64)));
+		statics.add( new GenericEntity( null, null));
+		statics.add( new GenericEntity( null, HitBox.build( 320, 160, 96, 32)));
+		statics.add( new GenericEntity( null, HitBox.build( 600, 288, 32, 32)));
+		hash.build( statics);
+		result = new ArrayList<>();
+	}
+
+	@Test
+	public void testIgnoresEntitiesWithoutHitBox(){
+		assertEquals( 3, hash.size());
+	}
+
+	@Test
+	public void testQueryFindsOverlap(){
+		hash.query( 330, 170, 10, 10, result);
+		assertEquals( List.of( statics.get( 2)), result);
+	}
+
+	@Test
+	public void testQueryEmptyArea(){
+		hash.query( 200, 100, 10, 10, result);
+		assertTrue( result.isEmpty());
+	}
+
+	@Test
+	public void testQueryTouchingEdge(){
+		// static 0 ends at x 64, a query starting on that edge must still see it
+		hash.query( 64, 10, 10, 10, result);
+		assertEquals( List.of( statics.get( 0)), result);
+	}
+
+	@Test
+	public void testQueryKeepsOrderWithoutDuplicates(){
+		hash.query( 0, 0, 640, 320, result);
+		assertEquals( List.of( statics.get( 0), statics.get( 2), statics.get( 3)), result);
+	}
+
+	@Test
+	public void testQueryOutsideGridIsClamped(){
+		hash.query( 700, 400, 10, 10, result);
+		assertEquals( List.of( statics.get( 3)), result);
+	}
+
+	@Test
+	public void testQueryHitBoxCoversPreviousPosition(){
+		HitBox player = HitBox.build( 300, 100, 16, 16);
+		player.translate( 0, 56);
+		player.translate( 200, 0);
+		// moved away from static 2 but undo would put it back next to it
+		hash.query( player, result);
+		assertTrue( result.contains( statics.get( 2)));
+	}
+}
@@ -0,0 +1,81 @@
+package utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestAssetCache{
+
+	private AssetCache< String> cache;
+	private int loads;
+
+	@BeforeEach
+	public void setup(){
+		loads = 0;
+		// the asset is the path itself and costs one byte per character
+		cache = new AssetCache<>( path -> {
+			loads++;
+			return new String( path);
+		}, String::length);
+	}
+
+	@Test
+	public void testLoadsOnce(){
+		String a = cache.acquire( "tiles");
+		String b = cache.acquire( "tiles");
+		assertSame( a, b);
+		assertEquals( 1, loads);
+		assertEquals( 1, cache.getMisses());
+		assertEquals( 1, cache.getHits());
+		assertEquals( 5, cache.getBytes());
+	}
+
+	@Test
+	public void testReleasedStaysWithoutCap(){
+		cache.acquire( "tiles");
+		cache.release( "tiles");
+		cache.acquire( "tiles");
+		assertEquals( 1, loads);
+	}
+
+	@Test
+	public void testReleaseWithoutAcquire(){
+		assertThrows( IllegalStateException.class, () -> cache.release( "tiles"));
+		cache.acquire( "tiles");
+		cache.release( "tiles");
+		assertThrows( IllegalStateException.class, () -> cache.release( "tiles"));
+	}
+
+	@Test
+	public void testCapEvictsLeastRecentlyUsed(){
+		cache.setMemoryCap( 10);
+		cache.acquire( "aaaa");
+		cache.acquire( "bbbb");
+		cache.release( "aaaa");
+		cache.release( "bbbb");
+		// touch aaaa so bbbb is least recently used
+		cache.acquire( "aaaa");
+		cache.release( "aaaa");
+		cache.acquire( "cccc");
+		assertTrue( cache.isCached( "aaaa"));
+		assertFalse( cache.isCached( "bbbb"));
+		assertEquals( 8, cache.getBytes());
+		assertEquals( 1, cache.getEvictions());
+	}
+
+	@Test
+	public void testCapKeepsAcquired(){
+		cache.setMemoryCap( 4);
+		cache.acquire( "aaaa");
+		cache.acquire( "bbbb");
+		assertEquals( 2, cache.size());
+		cache.release( "aaaa");
+		assertFalse( cache.isCached( "aaaa"));
+		assertTrue( cache.isCached( "bbbb"));
+	}
+}
@@ -0,0 +1,75 @@
+package utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestHistogram{
+
+	private Histogram histogram;
+
+	@BeforeEach
+	public void setup(){
+		histogram = new Histogram();
+	}
+
+	@Test
+	public void testEmpty(){
+		assertEquals( 0, histogram.count());
+		assertEquals( 0, histogram.min());
+		assertEquals( 0, histogram.max());
+		assertEquals( 0, histogram.mean(), 0);
+		assertEquals( 0, histogram.percentile( 99));
+	}
+
+	@Test
+	public void testSmallValuesAreExact(){
+		for( int i = 1; i <= 10; i++)
+			histogram.record( i);
+		assertEquals( 1, histogram.min());
+		assertEquals( 10, histogram.max());
+		assertEquals( 5.5, histogram.mean(), 0);
+		assertEquals( 5, histogram.percentile( 50));
+		assertEquals( 10, histogram.percentile( 100));
+	}
+
+	@Test
+	public void testPercentileWithinBucketError(){
+		// 0.2 to 20 ms in nanoseconds, p50 is 10 ms and p99 is 19.8 ms
+		for( long ms = 1; ms <= 100; ms++)
+			histogram.record( ms * 200_000L);
+		assertWithin( 10_000_000L, histogram.percentile( 50));
+		assertWithin( 19_800_000L, histogram.percentile( 99));
+		assertEquals( 20_000_000L, histogram.percentile( 100));
+		assertEquals( 200_000L, histogram.percentile( 0));
+	}
+
+	@Test
+	public void testOutlierShowsInTail(){
+		for( int i = 0; i < 990; i++)
+			histogram.record( 16_666_666L);
+		for( int i = 0; i < 10; i++)
+			histogram.record( 100_000_000L);
+		assertWithin( 16_666_666L, histogram.percentile( 99));
+		assertWithin( 100_000_000L, histogram.percentile( 99.9));
+		assertEquals( 10, histogram.countAbove( 20_000_000L));
+	}
+
+	@Test
+	public void testResetAndCopy(){
+		histogram.record( 5);
+		histogram.record( 500);
+		Histogram copy = new Histogram().copyFrom( histogram);
+		histogram.reset();
+		assertEquals( 0, histogram.count());
+		assertEquals( 2, copy.count());
+		assertEquals( 5, copy.min());
+		assertEquals( 500, copy.max());
+	}
+
+	private void assertWithin( long expected, long actual){
+		assertTrue( Math.abs( expected - actual) <= expected / Histogram.SUB_BUCKETS, expected + " != " + actual);
+	}
+}
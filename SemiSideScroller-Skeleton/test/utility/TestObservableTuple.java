@@ -0,0 +1,68 @@
+package utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestObservableTuple{
+
+	private ObservableTuple tuple;
+	private int changes;
+
+	@BeforeEach
+	public void setup(){
+		tuple = new ObservableTuple( 1, 2);
+		changes = 0;
+		tuple.xProperty().addListener( ( o, before, after) -> changes++);
+		tuple.yProperty().addListener( ( o, before, after) -> changes++);
+	}
+
+	@Test
+	public void testSetGoesThroughProperties(){
+		tuple.set( 3, 4);
+		assertEquals( 3, tuple.xProperty().get());
+		assertEquals( 4, tuple.yProperty().get());
+		assertEquals( 2, changes);
+		assertEquals( Tuple.pair( 3, 4), tuple);
+	}
+
+	@Test
+	public void testTranslateAndMoveGoThroughProperties(){
+		tuple.translate( 10, -1);
+		assertEquals( 11, tuple.xProperty().get());
+		assertEquals( 1, tuple.yProperty().get());
+		tuple.move( Tuple.pair( 5, 6));
+		assertEquals( 5, tuple.xProperty().get());
+		assertEquals( 6, tuple.yProperty().get());
+		tuple.move( 7, 8);
+		assertEquals( Tuple.pair( 7, 8), tuple);
+		assertEquals( 6, changes);
+	}
+
+	@Test
+	public void testBind(){
+		ObservableTuple source = new ObservableTuple();
+		tuple.bind( source);
+		assertEquals( Tuple.pair( 0, 0), tuple);
+		source.set( 9, -9);
+		assertEquals( Tuple.pair( 9, -9), tuple);
+		tuple.unbind();
+		source.set( 1, 1);
+		assertEquals( Tuple.pair( 9, -9), tuple);
+	}
+
+	@Test
+	public void testBindBidirectional(){
+		ObservableTuple other = new ObservableTuple( 5, 5);
+		tuple.bindBidirectional( other);
+		assertEquals( Tuple.pair( 5, 5), tuple);
+		tuple.translate( 1, 2);
+		assertEquals( Tuple.pair( 6, 7), other);
+		other.set( 0, 3);
+		assertEquals( Tuple.pair( 0, 3), tuple);
+		tuple.unbindBidirectional( other);
+		other.set( 8, 8);
+		assertEquals( Tuple.pair( 0, 3), tuple);
+	}
+}